@@ -19,8 +19,10 @@ import org.checkerframework.framework.util.GraphQualifierHierarchy;
 import org.checkerframework.framework.util.MultiGraphQualifierHierarchy.MultiGraphFactory;
 import org.checkerframework.javacutil.AnnotationBuilder;
 import org.checkerframework.javacutil.AnnotationUtils;
+import org.checkerframework.javacutil.CollectionUtils;
 
 import java.util.IllegalFormatException;
+import java.util.Map;
 
 import javax.lang.model.element.AnnotationMirror;
 
@@ -48,6 +50,17 @@ public class FormatterAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
     /** Syntax tree utilities. */
     protected final FormatterTreeUtil treeUtil = new FormatterTreeUtil(checker);
 
+    /** The maximum number of entries in {@link #formatAnnotations}. */
+    private static final int FORMAT_ANNOTATION_CACHE_SIZE = 500;
+
+    /**
+     * Maps a string to its {@code @Format} annotation if it is a valid format string, or to its
+     * {@code @InvalidFormat} annotation if it is not. Parsing a format string requires calling
+     * {@link String#format}, and programs use the same format strings many times.
+     */
+    private final Map<String, AnnotationMirror> formatAnnotations =
+            CollectionUtils.createLRUCache(FORMAT_ANNOTATION_CACHE_SIZE);
+
     /** Creates a FormatterAnnotatedTypeFactory. */
     public FormatterAnnotatedTypeFactory(BaseTypeChecker checker) {
         super(checker);
@@ -60,6 +73,27 @@ public class FormatterAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
         return new FormatterQualifierHierarchy(factory);
     }
 
+    /**
+     * Returns the {@code @Format} annotation for the format string {@code format}, or an {@code
+     * InvalidFormat} annotation if {@code format} is not a valid format string.
+     *
+     * @param format a format string
+     * @return the {@code @Format} or {@code @InvalidFormat} annotation for {@code format}
+     */
+    AnnotationMirror getFormatAnnotation(String format) {
+        AnnotationMirror anno = formatAnnotations.get(format);
+        if (anno == null) {
+            try {
+                ConversionCategory[] cs = FormatUtil.formatParameterCategories(format);
+                anno = treeUtil.categoriesToFormatAnnotation(cs);
+            } catch (IllegalFormatException e) {
+                anno = treeUtil.exceptionToInvalidFormatAnnotation(e);
+            }
+            formatAnnotations.put(format, anno);
+        }
+        return anno;
+    }
+
     @Override
     protected TreeAnnotator createTreeAnnotator() {
         return new ListTreeAnnotator(super.createTreeAnnotator(), new FormatterTreeAnnotator(this));
@@ -80,18 +114,7 @@ public class FormatterAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
                     format = Character.toString((Character) tree.getValue());
                 }
                 if (format != null) {
-                    AnnotationMirror anno;
-                    try {
-                        ConversionCategory[] cs = FormatUtil.formatParameterCategories(format);
-                        anno =
-                                FormatterAnnotatedTypeFactory.this.treeUtil
-                                        .categoriesToFormatAnnotation(cs);
-                    } catch (IllegalFormatException e) {
-                        anno =
-                                FormatterAnnotatedTypeFactory.this.treeUtil
-                                        .exceptionToInvalidFormatAnnotation(e);
-                    }
-                    type.addAnnotation(anno);
+                    type.addAnnotation(getFormatAnnotation(format));
                 }
             }
             return super.visitLiteral(tree, type);
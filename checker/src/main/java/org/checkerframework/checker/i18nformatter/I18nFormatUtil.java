@@ -41,7 +41,7 @@ public class I18nFormatUtil {
     public static I18nConversionCategory[] formatParameterCategories(String format)
             throws IllegalFormatException {
         tryFormatSatisfiability(format);
-        I18nConversion[] cs = MessageFormatParser.parse(format);
+        I18nConversion[] cs = new MessageFormatParser().parse(format);
 
         int maxIndex = -1;
         Map<Integer, I18nConversionCategory> conv = new HashMap<>();
@@ -114,24 +114,28 @@ public class I18nFormatUtil {
         }
     }
 
+    /**
+     * Parses a format string. A MessageFormatParser holds the state of a single parse, so a new one
+     * is created for every format string.
+     */
     private static class MessageFormatParser {
 
-        public static int maxOffset;
+        private int maxOffset;
 
         /** The locale to use for formatting numbers and dates. */
-        private static Locale locale;
+        private final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
 
         /** An array of formatters, which are used to format the arguments. */
-        private static List<I18nConversionCategory> categories;
+        private final List<I18nConversionCategory> categories = new ArrayList<>();
 
         /**
          * The argument numbers corresponding to each formatter. (The formatters are stored in the
          * order they occur in the pattern, not in the order in which the arguments are specified.)
          */
-        private static List<Integer> argumentIndices;
+        private final List<Integer> argumentIndices = new ArrayList<>();
 
         /** The number of subformats. */
-        private static int numFormat;
+        private int numFormat;
 
         // Indices for segments
         private static final int SEG_RAW = 0;
@@ -162,27 +166,24 @@ public class I18nFormatUtil {
             "", "short", "medium", "long", "full"
         };
 
-        public static I18nConversion[] parse(String pattern) {
-            MessageFormatParser.categories = new ArrayList<>();
-            MessageFormatParser.argumentIndices = new ArrayList<>();
-            MessageFormatParser.locale = Locale.getDefault(Locale.Category.FORMAT);
+        public I18nConversion[] parse(String pattern) {
             applyPattern(pattern);
 
-            I18nConversion[] ret = new I18nConversion[MessageFormatParser.numFormat];
-            for (int i = 0; i < MessageFormatParser.numFormat; i++) {
+            I18nConversion[] ret = new I18nConversion[numFormat];
+            for (int i = 0; i < numFormat; i++) {
                 ret[i] = new I18nConversion(argumentIndices.get(i), categories.get(i));
             }
             return ret;
         }
 
-        private static void applyPattern(String pattern) {
+        private void applyPattern(String pattern) {
             StringBuilder[] segments = new StringBuilder[4];
             // Allocate only segments[SEG_RAW] here. The rest are
             // allocated on demand.
             segments[SEG_RAW] = new StringBuilder();
 
             int part = SEG_RAW;
-            MessageFormatParser.numFormat = 0;
+            numFormat = 0;
             boolean inQuote = false;
             int braceStack = 0;
             maxOffset = -1;
@@ -263,7 +264,7 @@ public class I18nFormatUtil {
         }
 
         /** Side-effects {@code categories} field, adding to it an I18nConversionCategory. */
-        private static void makeFormat(int offsetNumber, StringBuilder[] textSegments) {
+        private void makeFormat(int offsetNumber, StringBuilder[] textSegments) {
             String[] segments = new String[textSegments.length];
             for (int i = 0; i < textSegments.length; i++) {
                 StringBuilder oneseg = textSegments[i];
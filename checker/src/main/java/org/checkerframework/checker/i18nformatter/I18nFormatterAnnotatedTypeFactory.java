@@ -20,6 +20,7 @@ import org.checkerframework.framework.util.GraphQualifierHierarchy;
 import org.checkerframework.framework.util.MultiGraphQualifierHierarchy.MultiGraphFactory;
 import org.checkerframework.javacutil.AnnotationBuilder;
 import org.checkerframework.javacutil.AnnotationUtils;
+import org.checkerframework.javacutil.CollectionUtils;
 import org.plumelib.reflection.Signatures;
 
 import java.io.FileInputStream;
@@ -69,6 +70,17 @@ public class I18nFormatterAnnotatedTypeFactory extends BaseAnnotatedTypeFactory
     /** Syntax tree utilities. */
     protected final I18nFormatterTreeUtil treeUtil = new I18nFormatterTreeUtil(checker);
 
+    /** The maximum number of entries in {@link #formatAnnotations}. */
+    private static final int FORMAT_ANNOTATION_CACHE_SIZE = 500;
+
+    /**
+     * Maps a string to its {@code @I18nFormat} annotation if it is a valid i18n format string, or
+     * to its {@code @I18nInvalidFormat} annotation if it is not. Programs use the same format
+     * strings and translation keys many times.
+     */
+    private final Map<String, AnnotationMirror> formatAnnotations =
+            CollectionUtils.createLRUCache(FORMAT_ANNOTATION_CACHE_SIZE);
+
     /** Create a new I18nFormatterAnnotatedTypeFactory. */
     public I18nFormatterAnnotatedTypeFactory(BaseTypeChecker checker) {
         super(checker);
@@ -176,6 +188,27 @@ public class I18nFormatterAnnotatedTypeFactory extends BaseAnnotatedTypeFactory
         return new I18nFormatterQualifierHierarchy(factory);
     }
 
+    /**
+     * Returns the {@code @I18nFormat} annotation for the i18n format string {@code format}, or an
+     * {@code @I18nInvalidFormat} annotation if {@code format} is not a valid i18n format string.
+     *
+     * @param format an i18n format string
+     * @return the {@code @I18nFormat} or {@code @I18nInvalidFormat} annotation for {@code format}
+     */
+    AnnotationMirror getFormatAnnotation(String format) {
+        AnnotationMirror anno = formatAnnotations.get(format);
+        if (anno == null) {
+            try {
+                I18nConversionCategory[] cs = I18nFormatUtil.formatParameterCategories(format);
+                anno = treeUtil.categoriesToFormatAnnotation(cs);
+            } catch (IllegalArgumentException e) {
+                anno = treeUtil.exceptionToInvalidFormatAnnotation(e);
+            }
+            formatAnnotations.put(format, anno);
+        }
+        return anno;
+    }
+
     @Override
     public TreeAnnotator createTreeAnnotator() {
         return new ListTreeAnnotator(
@@ -197,19 +230,7 @@ public class I18nFormatterAnnotatedTypeFactory extends BaseAnnotatedTypeFactory
                     format = Character.toString((Character) tree.getValue());
                 }
                 if (format != null) {
-                    AnnotationMirror anno;
-                    try {
-                        I18nConversionCategory[] cs =
-                                I18nFormatUtil.formatParameterCategories(format);
-                        anno =
-                                I18nFormatterAnnotatedTypeFactory.this.treeUtil
-                                        .categoriesToFormatAnnotation(cs);
-                    } catch (IllegalArgumentException e) {
-                        anno =
-                                I18nFormatterAnnotatedTypeFactory.this.treeUtil
-                                        .exceptionToInvalidFormatAnnotation(e);
-                    }
-                    type.addAnnotation(anno);
+                    type.addAnnotation(getFormatAnnotation(format));
                 }
             }
 
@@ -214,7 +214,15 @@ public class I18nFormatterTreeUtil {
             String s = ((StringLiteralNode) firstParam).getValue();
             if (translations.containsKey(s)) {
                 String value = translations.get(s);
-                ret = new Result<>(I18nFormatUtil.formatParameterCategories(value), node.getTree());
+                AnnotationMirror anno = atypeFactory.getFormatAnnotation(value);
+                I18nConversionCategory[] cs;
+                if (AnnotationUtils.areSameByClass(anno, I18nFormat.class)) {
+                    cs = formatAnnotationToCategories(anno);
+                } else {
+                    // Throws the exception that describes why the translation is invalid.
+                    cs = I18nFormatUtil.formatParameterCategories(value);
+                }
+                ret = new Result<>(cs, node.getTree());
             }
         }
         return ret;
@@ -5,10 +5,12 @@ import com.sun.source.tree.Tree;
 import com.sun.source.tree.Tree.Kind;
 
 import org.checkerframework.checker.index.qual.LengthOf;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.cfg.node.MethodAccessNode;
 import org.checkerframework.dataflow.cfg.node.MethodInvocationNode;
 import org.checkerframework.dataflow.cfg.node.Node;
 import org.checkerframework.framework.type.AnnotatedTypeFactory;
+import org.checkerframework.framework.util.MethodTable;
 import org.checkerframework.javacutil.AnnotationUtils;
 import org.checkerframework.javacutil.TreeUtils;
 
@@ -26,10 +28,6 @@ public class IndexMethodIdentifier {
 
     /** The {@code java.lang.Math#random()} method. */
     private final ExecutableElement mathRandom;
-    /** The {@code java.util.Random#nextDouble()} method. */
-    private final ExecutableElement randomNextDouble;
-    /** The {@code java.util.Random#nextInt()} method. */
-    private final ExecutableElement randomNextInt;
     /** The {@code java.lang.String#length()} method. */
     private final ExecutableElement stringLength;
     /** The {@code java.lang.Math#min()} methods. */
@@ -37,14 +35,33 @@ public class IndexMethodIdentifier {
     /** The {@code java.lang.Math#max()} methods. */
     private final List<ExecutableElement> mathMaxMethods;
 
+    /** The overridable methods that have special handling in the Index Checker. */
+    private enum OverridableMethod {
+        /** The {@code java.util.Random#nextDouble()} method. */
+        RANDOM_NEXT_DOUBLE,
+        /** The {@code java.util.Random#nextInt()} method. */
+        RANDOM_NEXT_INT
+    }
+
+    /**
+     * Maps each overridable special method to its {@link OverridableMethod} tag. The other special
+     * methods cannot be overridden, so an invoked method is compared with them by identity.
+     */
+    private final MethodTable<OverridableMethod> overridableMethods;
+
     private final AnnotatedTypeFactory factory;
 
     public IndexMethodIdentifier(AnnotatedTypeFactory factory) {
         this.factory = factory;
         ProcessingEnvironment processingEnv = factory.getProcessingEnv();
         mathRandom = TreeUtils.getMethod("java.lang.Math", "random", 0, processingEnv);
-        randomNextDouble = TreeUtils.getMethod("java.util.Random", "nextDouble", 0, processingEnv);
-        randomNextInt = TreeUtils.getMethod("java.util.Random", "nextInt", 1, processingEnv);
+        overridableMethods = new MethodTable<>(processingEnv);
+        overridableMethods.add(
+                TreeUtils.getMethod("java.util.Random", "nextDouble", 0, processingEnv),
+                OverridableMethod.RANDOM_NEXT_DOUBLE);
+        overridableMethods.add(
+                TreeUtils.getMethod("java.util.Random", "nextInt", 1, processingEnv),
+                OverridableMethod.RANDOM_NEXT_INT);
 
         stringLength = TreeUtils.getMethod("java.lang.String", "length", 0, processingEnv);
 
@@ -52,31 +69,42 @@ public class IndexMethodIdentifier {
         mathMaxMethods = TreeUtils.getMethods("java.lang.Math", "max", 2, processingEnv);
     }
 
+    /**
+     * Returns the method that {@code tree} invokes.
+     *
+     * @param tree a tree
+     * @return the invoked method, or null if {@code tree} is not a method invocation
+     */
+    private static @Nullable ExecutableElement getInvokedMethod(Tree tree) {
+        if (tree.getKind() != Kind.METHOD_INVOCATION) {
+            return null;
+        }
+        return TreeUtils.elementFromUse((MethodInvocationTree) tree);
+    }
+
     /** Returns true iff the argument is an invocation of Math.min. */
     public boolean isMathMin(Tree methodTree) {
-        ProcessingEnvironment processingEnv = factory.getProcessingEnv();
-        return TreeUtils.isMethodInvocation(methodTree, mathMinMethods, processingEnv);
+        return mathMinMethods.contains(getInvokedMethod(methodTree));
     }
 
     /** Returns true iff the argument is an invocation of Math.max. */
     public boolean isMathMax(Tree methodTree) {
-        ProcessingEnvironment processingEnv = factory.getProcessingEnv();
-        return TreeUtils.isMethodInvocation(methodTree, mathMaxMethods, processingEnv);
+        return mathMaxMethods.contains(getInvokedMethod(methodTree));
     }
 
     /** Returns true iff the argument is an invocation of Math.random(). */
     public boolean isMathRandom(Tree tree, ProcessingEnvironment processingEnv) {
-        return TreeUtils.isMethodInvocation(tree, mathRandom, processingEnv);
+        return mathRandom.equals(getInvokedMethod(tree));
     }
 
     /** Returns true iff the argument is an invocation of Random.nextDouble(). */
     public boolean isRandomNextDouble(Tree tree, ProcessingEnvironment processingEnv) {
-        return TreeUtils.isMethodInvocation(tree, randomNextDouble, processingEnv);
+        return overridableMethods.isInvocation(tree, OverridableMethod.RANDOM_NEXT_DOUBLE);
     }
 
     /** Returns true iff the argument is an invocation of Random.nextInt(). */
     public boolean isRandomNextInt(Tree tree, ProcessingEnvironment processingEnv) {
-        return TreeUtils.isMethodInvocation(tree, randomNextInt, processingEnv);
+        return overridableMethods.isInvocation(tree, OverridableMethod.RANDOM_NEXT_INT);
     }
 
     /**
@@ -19,11 +19,13 @@ import org.checkerframework.framework.util.FlowExpressionParseUtil.FlowExpressio
 import org.checkerframework.framework.util.FlowExpressionParseUtil.FlowExpressionParseException;
 import org.checkerframework.framework.util.dependenttypes.DependentTypesError;
 import org.checkerframework.javacutil.AnnotationProvider;
+import org.checkerframework.javacutil.CollectionUtils;
 import org.checkerframework.javacutil.TreeUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -39,6 +41,17 @@ public class OffsetEquation {
     public static final OffsetEquation NEG_1 = createOffsetForInt(-1);
     public static final OffsetEquation ONE = createOffsetForInt(1);
 
+    /** The maximum number of entries in {@link #parsedEquationCache}. */
+    private static final int PARSED_EQUATION_CACHE_SIZE = 300;
+
+    /**
+     * Maps a Java expression string to the offset equation parsed from it. The same offset strings
+     * are parsed over and over from annotations, so each is only parsed once. The cached equations
+     * are shared and must never be modified.
+     */
+    private static final Map<String, OffsetEquation> parsedEquationCache =
+            Collections.synchronizedMap(CollectionUtils.createLRUCache(PARSED_EQUATION_CACHE_SIZE));
+
     private final List<String> addedTerms;
     private final List<String> subtractedTerms;
     private int intValue = 0;
@@ -435,6 +448,34 @@ public class OffsetEquation {
      * @return an offset equation created from expressionEquation
      */
     public static OffsetEquation createOffsetFromJavaExpression(String expressionEquation) {
+        return new OffsetEquation(getOffsetFromJavaExpression(expressionEquation));
+    }
+
+    /**
+     * Like {@link #createOffsetFromJavaExpression(String)}, but returns a cached equation that is
+     * shared with other callers. The result must not be modified, for example by {@link
+     * #standardizeAndViewpointAdaptExpressions(FlowExpressionContext, TreePath, boolean)}.
+     *
+     * @param expressionEquation a Java expression made up of sums and differences
+     * @return an unmodifiable offset equation created from expressionEquation
+     */
+    static OffsetEquation getOffsetFromJavaExpression(String expressionEquation) {
+        OffsetEquation equation = parsedEquationCache.get(expressionEquation);
+        if (equation == null) {
+            equation = parseOffsetFromJavaExpression(expressionEquation);
+            parsedEquationCache.put(expressionEquation, equation);
+        }
+        return equation;
+    }
+
+    /**
+     * Parses an offset equation from the expressionEquation. See {@link
+     * #createOffsetFromJavaExpression(String)}.
+     *
+     * @param expressionEquation a Java expression made up of sums and differences
+     * @return a new offset equation created from expressionEquation
+     */
+    private static OffsetEquation parseOffsetFromJavaExpression(String expressionEquation) {
         expressionEquation = expressionEquation.trim();
         OffsetEquation equation = new OffsetEquation();
         if (expressionEquation.isEmpty()) {
@@ -141,7 +141,7 @@ public abstract class UBQualifier {
         if (extraOffset == null) {
             extraEq = OffsetEquation.ZERO;
         } else {
-            extraEq = OffsetEquation.createOffsetFromJavaExpression(extraOffset);
+            extraEq = OffsetEquation.getOffsetFromJavaExpression(extraOffset);
             if (extraEq.hasError()) {
                 return UpperBoundUnknownQualifier.UNKNOWN;
             }
@@ -162,7 +162,7 @@ public abstract class UBQualifier {
                     set = new HashSet<>();
                     map.put(sequence, set);
                 }
-                OffsetEquation eq = OffsetEquation.createOffsetFromJavaExpression(offset);
+                OffsetEquation eq = OffsetEquation.getOffsetFromJavaExpression(offset);
                 if (eq.hasError()) {
                     return UpperBoundUnknownQualifier.UNKNOWN;
                 }
@@ -303,7 +303,7 @@ public abstract class UBQualifier {
             if (offsets == null) {
                 return false;
             }
-            OffsetEquation target = OffsetEquation.createOffsetFromJavaExpression(offset);
+            OffsetEquation target = OffsetEquation.getOffsetFromJavaExpression(offset);
             return offsets.contains(target);
         }
 
@@ -680,6 +680,8 @@ public abstract class UBQualifier {
                 if (glb == null) {
                     glb = otherglb;
                 } else if (otherglb != null) {
+                    // Copy, because qualifiers may be shared and must not be modified.
+                    glb = new HashSet<>(glb);
                     glb.addAll(otherglb);
                 }
                 glbMap.put(sequence, simplifyOffsets(glb));
@@ -63,6 +63,7 @@ import org.checkerframework.framework.util.dependenttypes.DependentTypesHelper;
 import org.checkerframework.javacutil.AnnotationBuilder;
 import org.checkerframework.javacutil.AnnotationUtils;
 import org.checkerframework.javacutil.BugInCF;
+import org.checkerframework.javacutil.CollectionUtils;
 import org.checkerframework.javacutil.Pair;
 import org.checkerframework.javacutil.TreeUtils;
 
@@ -72,6 +73,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.lang.model.element.AnnotationMirror;
@@ -116,6 +118,19 @@ public class UpperBoundAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
 
     private final IndexMethodIdentifier imf;
 
+    /** The maximum number of entries in {@link #ubQualifierCache}. */
+    private static final int UB_QUALIFIER_CACHE_SIZE = 300;
+
+    /**
+     * Maps an annotation to the UBQualifier that represents it. AnnotationMirrors do not override
+     * {@code equals}, so this cache is keyed on identity. The qualifier hierarchy converts the same
+     * annotations many times during dataflow analysis; since UBQualifiers are never modified once
+     * they have been created, the same object can be returned for each of those requests. The cache
+     * belongs to this factory, because AnnotationMirrors must not outlive their compilation.
+     */
+    private final Map<AnnotationMirror, UBQualifier> ubQualifierCache =
+            CollectionUtils.createLRUCache(UB_QUALIFIER_CACHE_SIZE);
+
     /** Create a new UpperBoundAnnotatedTypeFactory. */
     public UpperBoundAnnotatedTypeFactory(BaseTypeChecker checker) {
         super(checker);
@@ -362,8 +377,8 @@ public class UpperBoundAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
 
         @Override
         public AnnotationMirror greatestLowerBound(AnnotationMirror a1, AnnotationMirror a2) {
-            UBQualifier a1Obj = UBQualifier.createUBQualifier(a1);
-            UBQualifier a2Obj = UBQualifier.createUBQualifier(a2);
+            UBQualifier a1Obj = getUBQualifier(a1);
+            UBQualifier a2Obj = getUBQualifier(a2);
             UBQualifier glb = a1Obj.glb(a2Obj);
             return convertUBQualifierToAnnotation(glb);
         }
@@ -377,8 +392,8 @@ public class UpperBoundAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
          */
         @Override
         public AnnotationMirror leastUpperBound(AnnotationMirror a1, AnnotationMirror a2) {
-            UBQualifier a1Obj = UBQualifier.createUBQualifier(a1);
-            UBQualifier a2Obj = UBQualifier.createUBQualifier(a2);
+            UBQualifier a1Obj = getUBQualifier(a1);
+            UBQualifier a2Obj = getUBQualifier(a2);
             UBQualifier lub = a1Obj.lub(a2Obj);
             return convertUBQualifierToAnnotation(lub);
         }
@@ -386,8 +401,8 @@ public class UpperBoundAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
         @Override
         public AnnotationMirror widenedUpperBound(
                 AnnotationMirror newQualifier, AnnotationMirror previousQualifier) {
-            UBQualifier a1Obj = UBQualifier.createUBQualifier(newQualifier);
-            UBQualifier a2Obj = UBQualifier.createUBQualifier(previousQualifier);
+            UBQualifier a1Obj = getUBQualifier(newQualifier);
+            UBQualifier a2Obj = getUBQualifier(previousQualifier);
             UBQualifier lub = a1Obj.widenUpperBound(a2Obj);
             return convertUBQualifierToAnnotation(lub);
         }
@@ -406,8 +421,8 @@ public class UpperBoundAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
          */
         @Override
         public boolean isSubtype(AnnotationMirror subAnno, AnnotationMirror superAnno) {
-            UBQualifier subtype = UBQualifier.createUBQualifier(subAnno);
-            UBQualifier supertype = UBQualifier.createUBQualifier(superAnno);
+            UBQualifier subtype = getUBQualifier(subAnno);
+            UBQualifier supertype = getUBQualifier(superAnno);
             return subtype.isSubtype(supertype);
         }
     }
@@ -760,6 +775,23 @@ public class UpperBoundAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
         }
     }
 
+    /**
+     * Returns the UBQualifier that represents the given annotation, like {@link
+     * UBQualifier#createUBQualifier(AnnotationMirror)}, but reuses the qualifiers of recently
+     * converted annotations.
+     *
+     * @param am an upper bound annotation
+     * @return a UBQualifier that represents the same information as {@code am}
+     */
+    public UBQualifier getUBQualifier(AnnotationMirror am) {
+        UBQualifier qualifier = ubQualifierCache.get(am);
+        if (qualifier == null) {
+            qualifier = UBQualifier.createUBQualifier(am);
+            ubQualifierCache.put(am, qualifier);
+        }
+        return qualifier;
+    }
+
     public AnnotationMirror convertUBQualifierToAnnotation(UBQualifier qualifier) {
         if (qualifier.isUnknown()) {
             return UNKNOWN;
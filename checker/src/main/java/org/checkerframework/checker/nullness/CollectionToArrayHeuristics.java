@@ -13,6 +13,7 @@ import org.checkerframework.framework.type.AnnotatedTypeMirror.AnnotatedArrayTyp
 import org.checkerframework.framework.type.AnnotatedTypeMirror.AnnotatedDeclaredType;
 import org.checkerframework.framework.type.AnnotatedTypeMirror.AnnotatedExecutableType;
 import org.checkerframework.framework.util.AnnotatedTypes;
+import org.checkerframework.framework.util.MethodTable;
 import org.checkerframework.javacutil.AnnotationUtils;
 import org.checkerframework.javacutil.ElementUtils;
 import org.checkerframework.javacutil.TreeUtils;
@@ -43,10 +44,19 @@ public class CollectionToArrayHeuristics {
     /** The type factory. */
     private final NullnessAnnotatedTypeFactory atypeFactory;
 
-    /** The Collection.toArray(T[]) method. */
-    private final ExecutableElement collectionToArrayE;
-    /** The Collection.size() method. */
-    private final ExecutableElement size;
+    /** The methods that this class handles specially. */
+    private enum SpecialMethod {
+        /** The Collection.toArray(T[]) method. */
+        COLLECTION_TO_ARRAY,
+        /** The Collection.size() method. */
+        COLLECTION_SIZE
+    }
+
+    /**
+     * Maps Collection.toArray(T[]) and Collection.size() to their tags. Most invoked methods are
+     * looked up many times, and their overrides of these methods are determined only once.
+     */
+    private final MethodTable<SpecialMethod> methods;
     /** The Collection type. */
     private final AnnotatedDeclaredType collectionType;
     /** Whether to trust {@code @ArrayLen(0)} annotations. */
@@ -64,11 +74,14 @@ public class CollectionToArrayHeuristics {
         this.checker = checker;
         this.atypeFactory = factory;
 
-        this.collectionToArrayE =
+        this.methods = new MethodTable<>(processingEnv);
+        methods.add(
                 TreeUtils.getMethod(
-                        java.util.Collection.class.getName(), "toArray", processingEnv, "T[]");
-        this.size =
-                TreeUtils.getMethod(java.util.Collection.class.getName(), "size", 0, processingEnv);
+                        java.util.Collection.class.getName(), "toArray", processingEnv, "T[]"),
+                SpecialMethod.COLLECTION_TO_ARRAY);
+        methods.add(
+                TreeUtils.getMethod(java.util.Collection.class.getName(), "size", 0, processingEnv),
+                SpecialMethod.COLLECTION_SIZE);
         this.collectionType =
                 factory.fromElement(
                         processingEnv.getElementUtils().getTypeElement("java.util.Collection"));
@@ -87,7 +100,7 @@ public class CollectionToArrayHeuristics {
      * @param method invoked method type
      */
     public void handle(MethodInvocationTree tree, AnnotatedExecutableType method) {
-        if (TreeUtils.isMethodInvocation(tree, collectionToArrayE, processingEnv)) {
+        if (methods.isInvocation(tree, SpecialMethod.COLLECTION_TO_ARRAY)) {
             assert !tree.getArguments().isEmpty() : tree;
             ExpressionTree argument = tree.getArguments().get(0);
             boolean receiverIsNonNull = receiverIsCollectionOfNonNullElements(tree);
@@ -154,7 +167,7 @@ public class CollectionToArrayHeuristics {
         }
 
         // size()-length array creation
-        if (TreeUtils.isMethodInvocation(dimension, size, processingEnv)) {
+        if (methods.isInvocation(dimension, SpecialMethod.COLLECTION_SIZE)) {
             MethodInvocationTree invok = (MethodInvocationTree) dimension;
             String invokReceiver = receiverName(invok.getMethodSelect());
             return invokReceiver.equals(receiver);
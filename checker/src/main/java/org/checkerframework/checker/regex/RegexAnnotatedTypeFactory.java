@@ -14,7 +14,6 @@ import org.checkerframework.checker.regex.qual.RegexBottom;
 import org.checkerframework.checker.regex.qual.UnknownRegex;
 import org.checkerframework.common.basetype.BaseAnnotatedTypeFactory;
 import org.checkerframework.common.basetype.BaseTypeChecker;
-import org.checkerframework.dataflow.qual.Pure;
 import org.checkerframework.framework.flow.CFAbstractAnalysis;
 import org.checkerframework.framework.flow.CFAnalysis;
 import org.checkerframework.framework.flow.CFStore;
@@ -34,9 +33,11 @@ import org.checkerframework.framework.util.GraphQualifierHierarchy;
 import org.checkerframework.framework.util.MultiGraphQualifierHierarchy.MultiGraphFactory;
 import org.checkerframework.javacutil.AnnotationBuilder;
 import org.checkerframework.javacutil.AnnotationUtils;
+import org.checkerframework.javacutil.CollectionUtils;
 import org.checkerframework.javacutil.TreeUtils;
 
 import java.lang.annotation.Annotation;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -225,21 +226,6 @@ public class RegexAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
         return Pattern.compile(regexp).matcher("").groupCount();
     }
 
-    /**
-     * This method is a copy of RegexUtil.isRegex. We cannot directly use RegexUtil, because it uses
-     * type annotations which cannot be used in IDEs (yet).
-     */
-    @SuppressWarnings("purity") // the checker cannot prove that the method is pure, but it is
-    @Pure
-    private static boolean isRegex(String s) {
-        try {
-            Pattern.compile(s);
-        } catch (PatternSyntaxException e) {
-            return false;
-        }
-        return true;
-    }
-
     @Override
     public TreeAnnotator createTreeAnnotator() {
         // Don't call super.createTreeAnnotator because the PropagationTreeAnnotator types binary
@@ -264,8 +250,19 @@ public class RegexAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
         }
     }
 
+    /** The maximum number of entries in {@link RegexTreeAnnotator#regexAnnotations}. */
+    private static final int REGEX_ANNOTATION_CACHE_SIZE = 500;
+
     private class RegexTreeAnnotator extends TreeAnnotator {
 
+        /**
+         * Maps a string to its {@code @Regex} annotation if it is a regular expression, or to its
+         * {@code @PartialRegex} annotation if it is not. Avoids compiling the same string again
+         * each time a literal or a concatenation of partial regular expressions is typed.
+         */
+        private final Map<String, AnnotationMirror> regexAnnotations =
+                CollectionUtils.createLRUCache(REGEX_ANNOTATION_CACHE_SIZE);
+
         public RegexTreeAnnotator(AnnotatedTypeFactory atypeFactory) {
             super(atypeFactory);
         }
@@ -284,12 +281,7 @@ public class RegexAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
                     regex = Character.toString((Character) tree.getValue());
                 }
                 if (regex != null) {
-                    if (isRegex(regex)) {
-                        int groupCount = getGroupCount(regex);
-                        type.addAnnotation(createRegexAnnotation(groupCount));
-                    } else {
-                        type.addAnnotation(createPartialRegexAnnotation(regex));
-                    }
+                    type.addAnnotation(getRegexAnnotation(regex));
                 }
             }
             return super.visitLiteral(tree, type);
@@ -327,12 +319,7 @@ public class RegexAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
                     String lRegex = getPartialRegexValue(lExpr);
                     String rRegex = getPartialRegexValue(rExpr);
                     String concat = lRegex + rRegex;
-                    if (isRegex(concat)) {
-                        int groupCount = getGroupCount(concat);
-                        type.addAnnotation(createRegexAnnotation(groupCount));
-                    } else {
-                        type.addAnnotation(createPartialRegexAnnotation(concat));
-                    }
+                    type.addAnnotation(getRegexAnnotation(concat));
                 } else if (lExprRE && rExprPart) {
                     String rRegex = getPartialRegexValue(rExpr);
                     String concat = "e" + rRegex;
@@ -394,6 +381,32 @@ public class RegexAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
             return super.visitMethodInvocation(tree, type);
         }
 
+        /**
+         * Returns a Regex annotation with the group count of {@code s} if it is a valid regular
+         * expression, otherwise a PartialRegex annotation whose value is {@code s}.
+         *
+         * @param s the value of a String or char expression
+         * @return the Regex or PartialRegex annotation for {@code s}
+         */
+        private AnnotationMirror getRegexAnnotation(String s) {
+            AnnotationMirror anno = regexAnnotations.get(s);
+            if (anno == null) {
+                Pattern pattern;
+                try {
+                    pattern = Pattern.compile(s);
+                } catch (PatternSyntaxException e) {
+                    pattern = null;
+                }
+                if (pattern != null) {
+                    anno = createRegexAnnotation(pattern.matcher("").groupCount());
+                } else {
+                    anno = createPartialRegexAnnotation(s);
+                }
+                regexAnnotations.put(s, anno);
+            }
+            return anno;
+        }
+
         /** Returns a new PartialRegex annotation with the given partial regular expression. */
         private AnnotationMirror createPartialRegexAnnotation(String partial) {
             AnnotationBuilder builder = new AnnotationBuilder(processingEnv, PartialRegex.class);
@@ -69,10 +69,15 @@ public class UnitsAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
      */
     private Map<String, UnitsRelations> unitsRel;
 
-    private static final Map<String, Class<? extends Annotation>> externalQualsMap =
-            new HashMap<>();
+    /** Map from canonical class name to the corresponding external unit annotation class. */
+    private final Map<String, Class<? extends Annotation>> externalQualsMap = new HashMap<>();
 
-    private static final Map<String, AnnotationMirror> aliasMap = new HashMap<>();
+    /**
+     * Map from the name of an alias annotation to the base unit annotation with a prefix that it
+     * stands for. The annotations belong to this compilation, so the map is not shared with other
+     * factories.
+     */
+    private final Map<String, AnnotationMirror> aliasMap = new HashMap<>();
 
     public UnitsAnnotatedTypeFactory(BaseTypeChecker checker) {
         // use true to enable flow inference, false to disable it
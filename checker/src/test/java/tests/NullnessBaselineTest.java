@@ -0,0 +1,135 @@
+package tests;
+
+import org.checkerframework.framework.test.CheckerFrameworkPerDirectoryTest;
+import org.checkerframework.framework.test.CompilationResult;
+import org.checkerframework.framework.test.NoteCollectingTypecheckExecutor;
+import org.checkerframework.framework.test.TypecheckExecutor;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * JUnit tests for the Nullness Checker -- testing the {@code -Abaseline} and {@code
+ * -AbaselineOutput} command-line arguments.
+ */
+public class NullnessBaselineTest extends CheckerFrameworkPerDirectoryTest {
+
+    /** The checked-in baseline. */
+    private static final String BASELINE = "tests/nullness-baseline/baseline.tsv";
+
+    /** Holds the baselines written by the test. */
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    /** Collects the notes issued while checking the test files. */
+    private final NoteCollectingTypecheckExecutor executor = new NoteCollectingTypecheckExecutor();
+
+    /**
+     * Create a NullnessBaselineTest.
+     *
+     * @param testFiles the files containing test code, which will be type-checked
+     */
+    public NullnessBaselineTest(List<File> testFiles) {
+        super(
+                testFiles,
+                org.checkerframework.checker.nullness.NullnessChecker.class,
+                "nullness",
+                "-Anomsgtext",
+                "-Abaseline=" + BASELINE);
+    }
+
+    @Parameters
+    public static String[] getTestDirs() {
+        return new String[] {"nullness-baseline"};
+    }
+
+    /**
+     * Returns the file to which the entries for the errors that the checked-in baseline does not
+     * accept are written.
+     *
+     * @return the file given by {@code -AbaselineOutput}
+     */
+    private File getBaselineOutput() {
+        return new File(folder.getRoot(), "output.tsv");
+    }
+
+    @Override
+    public List<String> customizeOptions(List<String> previousOptions) {
+        List<String> options = new ArrayList<>(previousOptions);
+        options.add("-AbaselineOutput=" + getBaselineOutput());
+        return options;
+    }
+
+    @Override
+    protected TypecheckExecutor createTypecheckExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void run() {
+        super.run();
+        try {
+            checkBaselines();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks the entries written by {@code -AbaselineOutput}, then checks that adding them to the
+     * checked-in baseline accepts all errors.
+     *
+     * @throws IOException if a baseline cannot be read or written
+     */
+    private void checkBaselines() throws IOException {
+        // The errors in the methods and class with key "*" are not even found.
+        Assert.assertTrue(
+                executor.getNotes().toString(),
+                executor.getNotes()
+                        .contains("NullnessChecker: 2 diagnostics matched the baseline"));
+
+        // The new entries are those of the reported errors.
+        List<String> newEntries =
+                Files.readAllLines(getBaselineOutput().toPath(), StandardCharsets.UTF_8);
+        Assert.assertEquals(newEntries.toString(), 2, newEntries.size());
+        List<String> keysAndSignatures = new ArrayList<>();
+        for (String entry : newEntries) {
+            String[] fields = entry.split("\t", -1);
+            Assert.assertEquals(entry, 3, fields.length);
+            Assert.assertTrue(entry, fields[0].endsWith("nullness-baseline/Baseline.java"));
+            keysAndSignatures.add(fields[1] + "\t" + fields[2]);
+        }
+        Assert.assertEquals(
+                Arrays.asList(
+                        "return.type.incompatible\tBaseline#otherFile()",
+                        "return.type.incompatible\tBaseline#otherKey()"),
+                keysAndSignatures);
+
+        // With the new entries, the baseline accepts all errors.
+        File extended = new File(folder.getRoot(), "extended.tsv");
+        List<String> entries = new ArrayList<>(Files.readAllLines(Paths.get(BASELINE)));
+        entries.addAll(newEntries);
+        Files.write(extended.toPath(), entries, StandardCharsets.UTF_8);
+        CompilationResult result =
+                new TypecheckExecutor()
+                        .compile(
+                                buildConfiguration(
+                                        Arrays.asList("-Anomsgtext", "-Abaseline=" + extended)));
+        for (Diagnostic<? extends JavaFileObject> diagnostic : result.getDiagnostics()) {
+            Assert.assertEquals(diagnostic.toString(), Diagnostic.Kind.NOTE, diagnostic.getKind());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package tests;
+
+import org.checkerframework.framework.test.CheckerFrameworkPerDirectoryTest;
+import org.checkerframework.framework.test.NoteCollectingTypecheckExecutor;
+import org.checkerframework.framework.test.TypecheckExecutor;
+import org.junit.Assert;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * JUnit tests for the Nullness Checker -- testing the {@code -AmaxErrorsPerClass} and {@code
+ * -AmaxErrors} command-line arguments, together with {@code -Awarns}.
+ */
+public class NullnessErrorLimitTest extends CheckerFrameworkPerDirectoryTest {
+
+    /** Collects the notes issued while checking the test files. */
+    private final NoteCollectingTypecheckExecutor executor = new NoteCollectingTypecheckExecutor();
+
+    /**
+     * Create a NullnessErrorLimitTest.
+     *
+     * @param testFiles the files containing test code, which will be type-checked
+     */
+    public NullnessErrorLimitTest(List<File> testFiles) {
+        super(
+                testFiles,
+                org.checkerframework.checker.nullness.NullnessChecker.class,
+                "nullness",
+                "-Anomsgtext",
+                "-Awarns",
+                "-AmaxErrorsPerClass=2",
+                "-AmaxErrors=3");
+    }
+
+    @Parameters
+    public static String[] getTestDirs() {
+        return new String[] {"nullness-errorlimit"};
+    }
+
+    @Override
+    protected TypecheckExecutor createTypecheckExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void run() {
+        super.run();
+        // StoppedByClassLimit and StoppedByTotalLimit were stopped, and Skipped was skipped.
+        String summary =
+                "NullnessChecker: stopped checking 2 classes and skipped 1 classes after reaching"
+                        + " the error limit; 3 errors were issued";
+        Assert.assertTrue(executor.getNotes().toString(), executor.getNotes().contains(summary));
+    }
+}
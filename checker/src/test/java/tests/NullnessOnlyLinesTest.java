@@ -0,0 +1,30 @@
+package tests;
+
+import org.checkerframework.framework.test.CheckerFrameworkPerDirectoryTest;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.io.File;
+import java.util.List;
+
+/** JUnit tests for the Nullness Checker -- testing {@code -AonlyLines} command-line argument. */
+public class NullnessOnlyLinesTest extends CheckerFrameworkPerDirectoryTest {
+
+    /**
+     * Create a NullnessOnlyLinesTest.
+     *
+     * @param testFiles the files containing test code, which will be type-checked
+     */
+    public NullnessOnlyLinesTest(List<File> testFiles) {
+        super(
+                testFiles,
+                org.checkerframework.checker.nullness.NullnessChecker.class,
+                "nullness",
+                "-Anomsgtext",
+                "-AonlyLines=nullness-onlylines/OnlyLines.java:19,OnlyLines.java:22-28");
+    }
+
+    @Parameters
+    public static String[] getTestDirs() {
+        return new String[] {"nullness-onlylines"};
+    }
+}
@@ -0,0 +1,16 @@
+package tests;
+
+import org.checkerframework.checker.nullness.NullnessChecker;
+import org.checkerframework.framework.test.CheckerFrameworkPerformanceTest;
+
+/**
+ * Guards against performance regressions of the Nullness Checker, using its test files as the
+ * corpus. Run by {@code ./gradlew :checker:performanceTest}, not by the ordinary tests.
+ */
+public class NullnessPerformanceTest extends CheckerFrameworkPerformanceTest {
+
+    /** Create a NullnessPerformanceTest. */
+    public NullnessPerformanceTest() {
+        super(NullnessChecker.class, "nullness", "-AcheckPurityAnnotations", "-Anomsgtext");
+    }
+}
@@ -0,0 +1,119 @@
+package tests;
+
+import org.checkerframework.framework.test.CheckerFrameworkPerDirectoryTest;
+import org.checkerframework.framework.test.NoteCollectingTypecheckExecutor;
+import org.checkerframework.framework.test.TypecheckExecutor;
+import org.junit.Assert;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JUnit tests for the Nullness Checker -- testing the {@code -AslowClassThreshold} and {@code
+ * -AslowMethodThreshold} command-line arguments. With thresholds of 0, every class and method is
+ * reported.
+ */
+public class NullnessSlowCodeTest extends CheckerFrameworkPerDirectoryTest {
+
+    /** The note issued at a method whose dataflow analysis exceeded the threshold. */
+    private static final Pattern METHOD_NOTE =
+            Pattern.compile(
+                    "\\[NullnessChecker\\] dataflow analysis of (\\S+) took \\d+ ms \\((\\d+)"
+                            + " blocks analyzed, (\\d+) expressions in exit store\\)");
+
+    /** The note issued at a class whose checking exceeded the threshold. */
+    private static final Pattern CLASS_NOTE =
+            Pattern.compile("\\[NullnessChecker\\] class (\\S+) took \\d+ ms");
+
+    /** The time in a line of the summary, which lists the reported classes and methods. */
+    private static final Pattern SUMMARY_TIME = Pattern.compile(" took (\\d+) ms");
+
+    /** Collects the notes issued while checking the test files. */
+    private final NoteCollectingTypecheckExecutor executor = new NoteCollectingTypecheckExecutor();
+
+    /**
+     * Create a NullnessSlowCodeTest.
+     *
+     * @param testFiles the files containing test code, which will be type-checked
+     */
+    public NullnessSlowCodeTest(List<File> testFiles) {
+        super(
+                testFiles,
+                org.checkerframework.checker.nullness.NullnessChecker.class,
+                "nullness",
+                "-Anomsgtext",
+                "-AslowClassThreshold=0",
+                "-AslowMethodThreshold=0");
+    }
+
+    @Parameters
+    public static String[] getTestDirs() {
+        return new String[] {"nullness-slowcode"};
+    }
+
+    @Override
+    protected TypecheckExecutor createTypecheckExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void run() {
+        super.run();
+
+        List<String> notes = executor.getNotes();
+        String summaryHeader = "NullnessChecker: slowest classes and methods:";
+        String summary = null;
+        List<String> reported = new ArrayList<>();
+        Map<String, Integer> blocksAnalyzed = new HashMap<>();
+        Map<String, Integer> storeSizes = new HashMap<>();
+        for (String note : notes) {
+            if (note.startsWith(summaryHeader)) {
+                summary = note;
+                continue;
+            }
+            Matcher methodNote = METHOD_NOTE.matcher(note);
+            if (methodNote.matches()) {
+                blocksAnalyzed.put(methodNote.group(1), Integer.parseInt(methodNote.group(2)));
+                storeSizes.put(methodNote.group(1), Integer.parseInt(methodNote.group(3)));
+                reported.add(note);
+            } else {
+                Matcher classNote = CLASS_NOTE.matcher(note);
+                if (classNote.matches()) {
+                    Assert.assertEquals(note, "SlowCode", classNote.group(1));
+                    reported.add(note);
+                }
+            }
+        }
+
+        Assert.assertTrue(notes.toString(), blocksAnalyzed.containsKey("SlowCode.setBoth"));
+        Assert.assertTrue(notes.toString(), blocksAnalyzed.containsKey("SlowCode.sum"));
+        // The loop is analyzed more than once before a fixpoint is reached.
+        Assert.assertTrue(
+                notes.toString(),
+                blocksAnalyzed.get("SlowCode.sum") > blocksAnalyzed.get("SlowCode.setBoth"));
+        // Both fields are non-null at the exit of setBoth.
+        Assert.assertTrue(notes.toString(), storeSizes.get("SlowCode.setBoth") >= 2);
+
+        Assert.assertNotNull("No summary in " + notes, summary);
+        String[] summaryLines = summary.split("\\R");
+        Assert.assertEquals(summary, reported.size() + 1, summaryLines.length);
+        long previousMillis = Long.MAX_VALUE;
+        for (int i = 1; i < summaryLines.length; i++) {
+            String line = summaryLines[i];
+            Assert.assertTrue(summary, line.startsWith("  ") && line.contains("SlowCode.java: "));
+            String description = line.substring(line.indexOf("SlowCode.java: ") + 15);
+            Assert.assertTrue(summary, reported.contains("[NullnessChecker] " + description));
+            Matcher time = SUMMARY_TIME.matcher(line);
+            Assert.assertTrue(summary, time.find());
+            long millis = Long.parseLong(time.group(1));
+            Assert.assertTrue("Not slowest first: " + summary, millis <= previousMillis);
+            previousMillis = millis;
+        }
+    }
+}
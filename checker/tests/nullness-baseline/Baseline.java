@@ -0,0 +1,42 @@
+import org.checkerframework.checker.nullness.qual.*;
+
+// Checked with -Abaseline=tests/nullness-baseline/baseline.tsv, which accepts some of the errors
+// below.
+public class Baseline {
+
+    // Accepted by an entry for this method.
+    Object matched() {
+        return null;
+    }
+
+    // Accepted by an entry whose signature has the simple names of the parameter types.
+    Object matchedWithParameters(String s, int i) {
+        return null;
+    }
+
+    // The entry for this method has a different key.
+    Object otherKey() {
+        // :: error: (return.type.incompatible)
+        return null;
+    }
+
+    // The entry for this method is for a different file.
+    Object otherFile() {
+        // :: error: (return.type.incompatible)
+        return null;
+    }
+
+    // Accepted by an entry with key "*", so this method is not checked.
+    Object allKeys(@Nullable Object o) {
+        o.toString();
+        return null;
+    }
+
+    // Accepted by an entry with key "*", so this class is not checked.
+    static class AllKeys {
+        Object m(@Nullable Object o) {
+            o.toString();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+import org.checkerframework.checker.nullness.qual.*;
+
+// Checked with -Awarns -AmaxErrorsPerClass=2 -AmaxErrors=3. The errors are reported as warnings,
+// but they still count toward the limits.
+
+class StoppedByClassLimit {
+    Object first() {
+        // :: warning: (return.type.incompatible)
+        return null;
+    }
+
+    Object second() {
+        // :: warning: (return.type.incompatible)
+        return null;
+    }
+
+    // Not reported: the class has reached -AmaxErrorsPerClass.
+    Object third() {
+        return null;
+    }
+}
+
+class StoppedByTotalLimit {
+    // Suppressed errors are not counted.
+    @SuppressWarnings("nullness")
+    Object suppressed() {
+        return null;
+    }
+
+    Object first() {
+        // :: warning: (return.type.incompatible)
+        return null;
+    }
+
+    // Not reported: the compilation has reached -AmaxErrors.
+    Object second() {
+        return null;
+    }
+}
+
+// Not checked at all.
+class Skipped {
+    Object first() {
+        return null;
+    }
+}
@@ -0,0 +1,32 @@
+import org.checkerframework.checker.nullness.qual.*;
+
+// Checked with -AonlyLines=nullness-onlylines/OnlyLines.java:19,OnlyLines.java:22-28: a line of
+// the constructor, the method inside(), and the first line of partlyInside().
+public class OnlyLines {
+
+    String initialized = "initialized";
+
+    @Nullable Object refined = "refined";
+
+    // Not checked, because no line of this method is in the region.
+    Object outside() {
+        return null;
+    }
+
+    // The field initializers are analyzed with the constructor, even though they are outside
+    // the region: otherwise, initialized would not be initialized and refined could be null.
+    OnlyLines() {
+        refined.toString();
+    }
+
+    Object inside() {
+        // :: error: (return.type.incompatible)
+        return null;
+    }
+
+    // Checked completely, because one of its lines is in the region.
+    void partlyInside(@Nullable Object o) {
+        // :: error: (dereference.of.nullable)
+        o.toString();
+    }
+}
@@ -0,0 +1,24 @@
+import org.checkerframework.checker.nullness.qual.*;
+
+// Checked with thresholds of 0 ms, so that every class and method is reported.
+public class SlowCode {
+
+    @Nullable String first;
+
+    @Nullable String second;
+
+    void setBoth() {
+        first = "first";
+        second = "second";
+    }
+
+    int sum(int[] values) {
+        int sum = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] > 0) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+}
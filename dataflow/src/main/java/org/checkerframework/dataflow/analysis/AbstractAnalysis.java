@@ -43,6 +43,12 @@ public abstract class AbstractAnalysis<
     /** The direction of this analysis. */
     protected final Direction direction;
 
+    /**
+     * The number of times that a block was taken from the worklist and analyzed, in the current or
+     * most recent run of the analysis.
+     */
+    protected int blocksAnalyzed = 0;
+
     /** Is the analysis currently running? */
     protected boolean isRunning = false;
 
@@ -152,6 +158,17 @@ public abstract class AbstractAnalysis<
         return this.direction;
     }
 
+    /**
+     * Returns the number of times that a block was analyzed in the current or most recent run of
+     * the analysis. It is at least the number of reachable blocks, and grows with the number of
+     * iterations needed to reach a fixpoint.
+     *
+     * @return the number of times that a block was analyzed
+     */
+    public int getBlocksAnalyzed() {
+        return blocksAnalyzed;
+    }
+
     @Override
     @SuppressWarnings("contracts.precondition.override.invalid") // implementation field
     @RequiresNonNull("cfg")
@@ -374,6 +391,7 @@ public abstract class AbstractAnalysis<
         inputs.clear();
         nodeValues.clear();
         finalLocalValues.clear();
+        blocksAnalyzed = 0;
         this.cfg = cfg;
     }
 
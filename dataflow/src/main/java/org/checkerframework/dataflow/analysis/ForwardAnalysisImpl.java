@@ -106,6 +106,7 @@ public class ForwardAnalysisImpl<
             init(cfg);
             while (!worklist.isEmpty()) {
                 Block b = worklist.poll();
+                blocksAnalyzed++;
                 performAnalysisBlock(b);
             }
         } finally {
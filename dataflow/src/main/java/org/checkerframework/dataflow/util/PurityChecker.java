@@ -9,6 +9,7 @@ import com.sun.source.tree.IdentifierTree;
 import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.NewClassTree;
 import com.sun.source.tree.Tree;
+import com.sun.source.tree.UnaryTree;
 import com.sun.source.util.TreePath;
 import com.sun.source.util.TreePathScanner;
 
@@ -331,5 +332,20 @@ public class PurityChecker {
             assignmentCheck(variable);
             return super.visitCompoundAssignment(node, ignore);
         }
+
+        @Override
+        public Void visitUnary(UnaryTree node, Void ignore) {
+            switch (node.getKind()) {
+                case PREFIX_INCREMENT:
+                case PREFIX_DECREMENT:
+                case POSTFIX_INCREMENT:
+                case POSTFIX_DECREMENT:
+                    assignmentCheck(node.getExpression());
+                    break;
+                default:
+                    break;
+            }
+            return super.visitUnary(node, ignore);
+        }
     }
 }
@@ -108,21 +108,42 @@ public abstract class CheckerFrameworkPerDirectoryTest {
 
     @Test
     public void run() {
-        boolean shouldEmitDebugInfo = TestUtilities.getShouldEmitDebugInfo();
         List<String> customizedOptions =
                 customizeOptions(Collections.unmodifiableList(checkerOptions));
-        TestConfiguration config =
-                TestConfigurationBuilder.buildDefaultConfiguration(
-                        testDir,
-                        testFiles,
-                        classpathExtra,
-                        Collections.singleton(checkerName),
-                        customizedOptions,
-                        shouldEmitDebugInfo);
-        TypecheckResult testResult = new TypecheckExecutor().runTest(config);
+        TestConfiguration config = buildConfiguration(customizedOptions);
+        TypecheckResult testResult = createTypecheckExecutor().runTest(config);
         TestUtilities.assertResultsAreValid(testResult);
     }
 
+    /**
+     * Returns the configuration for type-checking the test files with the given options. {@link
+     * #run} passes the options from the constructor, after {@link #customizeOptions}. A test that
+     * compiles the test files again, with other options, can call this method directly.
+     *
+     * @param options the options to pass to the compiler when running the checker
+     * @return the configuration for type-checking the test files
+     */
+    protected TestConfiguration buildConfiguration(List<String> options) {
+        return TestConfigurationBuilder.buildDefaultConfiguration(
+                testDir,
+                testFiles,
+                classpathExtra,
+                Collections.singleton(checkerName),
+                options,
+                TestUtilities.getShouldEmitDebugInfo());
+    }
+
+    /**
+     * Returns the executor that {@link #run} uses to type-check the test files. Override this
+     * method to examine the compilation further, for example with a {@link
+     * NoteCollectingTypecheckExecutor} that is checked after {@code super.run()} returns.
+     *
+     * @return the executor that type-checks the test files
+     */
+    protected TypecheckExecutor createTypecheckExecutor() {
+        return new TypecheckExecutor();
+    }
+
     /**
      * Override this method if you would like to supply a checker command-line option that depends
      * on the Java files passed to the test. Those files are available in field {@link #testFiles}.
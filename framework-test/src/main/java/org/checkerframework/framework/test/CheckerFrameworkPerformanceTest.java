@@ -0,0 +1,163 @@
+package org.checkerframework.framework.test;
+
+import com.sun.source.util.JavacTask;
+
+import org.checkerframework.javacutil.SystemUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.tools.JavaCompiler;
+
+/**
+ * Measures the time and memory that a checker uses on a corpus of Java files, and fails if they
+ * have grown by more than a threshold since a baseline was recorded. Unlike {@link
+ * CheckerFrameworkPerDirectoryTest}, it does not check the diagnostics that the checker issues.
+ *
+ * <p>The corpus, a directory in the tests directory, is compiled as a whole, once to warm up the
+ * JVM and then {@link #RUNS} times; the smallest of each measurement is kept. The measurements,
+ * which are described in {@link PerformanceResult}, are compared with those in the baseline file,
+ * which is named after the test class and is in the directory given by the system property {@value
+ * #BASELINE_DIR_PROPERTY} (by default, "tests/build/performance"). If the system property {@value
+ * #UPDATE_PROPERTY} is true, the measurements are written to the baseline file instead. If it is
+ * not true and there is no baseline file, the test fails without measuring anything: a baseline is
+ * only ever recorded on request, so that a missing or misplaced baseline is not silently replaced
+ * by measurements of the code under test. The allowed increase, in percent, is the value of the
+ * system property {@value #THRESHOLD_PROPERTY}, by default {@value #DEFAULT_THRESHOLD}.
+ *
+ * <p>To guard a change, record a baseline without the change ({@code
+ * -Dtests.performance.update=true}), and then run the test with it, on the same machine. To create
+ * a performance test, extend this class:
+ *
+ * <pre><code>
+ * public class MyPerformanceTest extends CheckerFrameworkPerformanceTest {
+ *   public MyPerformanceTest() {
+ *     super(MyChecker.class, "all-systems", "-Anomsgtext");
+ *   }
+ * }
+ * </code></pre>
+ */
+public abstract class CheckerFrameworkPerformanceTest {
+
+    /** The system property that contains the directory of the baseline files. */
+    public static final String BASELINE_DIR_PROPERTY = "tests.performance.baselineDir";
+
+    /** The system property that, if true, makes the test record a new baseline. */
+    public static final String UPDATE_PROPERTY = "tests.performance.update";
+
+    /** The system property that contains the allowed increase of each measurement, in percent. */
+    public static final String THRESHOLD_PROPERTY = "tests.performance.threshold";
+
+    /** The allowed increase of each measurement, in percent, if none is given. */
+    public static final int DEFAULT_THRESHOLD = 20;
+
+    /** The number of measured compilations, after the warm-up compilation. */
+    public static final int RUNS = 3;
+
+    /** The fully-qualified class name of the checker to measure. */
+    protected final String checkerName;
+
+    /** The path, relative to currentDir/test to the directory containing the corpus. */
+    protected final String testDir;
+
+    /** Extra options to pass to javac when running the checker. */
+    protected final List<String> checkerOptions;
+
+    /**
+     * Creates a new performance test.
+     *
+     * @param checker the class for the checker to measure
+     * @param testDir the path to the directory of the corpus, relative to the tests directory
+     * @param checkerOptions options to pass to the compiler when running the checker
+     */
+    protected CheckerFrameworkPerformanceTest(
+            Class<? extends AbstractProcessor> checker, String testDir, String... checkerOptions) {
+        this.checkerName = checker.getName();
+        this.testDir = "tests" + File.separator + testDir;
+        this.checkerOptions = new ArrayList<>(Arrays.asList(checkerOptions));
+    }
+
+    @Test
+    public void run() {
+        File baselineFile = getBaselineFile();
+        boolean update = SystemUtil.getBooleanSystemProperty(UPDATE_PROPERTY);
+        if (!update && !baselineFile.exists()) {
+            Assert.fail(
+                    String.format(
+                            "No performance baseline %s. Record one by running the test with"
+                                    + " -D%s=true, or set -D%s to the directory that contains it.",
+                            baselineFile, UPDATE_PROPERTY, BASELINE_DIR_PROPERTY));
+        }
+
+        List<File> testFiles = TestUtilities.getJavaFilesAsArgumentList(new File(testDir));
+        TestConfiguration config =
+                TestConfigurationBuilder.buildDefaultConfiguration(
+                        testDir,
+                        testFiles,
+                        Collections.singleton(checkerName),
+                        checkerOptions,
+                        TestUtilities.getShouldEmitDebugInfo());
+
+        measure(config);
+        PerformanceResult result = measure(config);
+        for (int i = 1; i < RUNS; i++) {
+            result = result.min(measure(config));
+        }
+
+        if (update) {
+            result.write(baselineFile);
+            System.out.println("Wrote performance baseline " + baselineFile);
+            return;
+        }
+        double threshold = Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD);
+        List<String> regressions =
+                result.findRegressions(PerformanceResult.read(baselineFile), threshold);
+        if (!regressions.isEmpty()) {
+            Assert.fail(
+                    String.format(
+                            "%d measurements exceed the baseline %s by more than %s%%:%n%s",
+                            regressions.size(),
+                            baselineFile,
+                            threshold,
+                            String.join(System.lineSeparator(), regressions)));
+        }
+    }
+
+    /**
+     * Compiles the corpus once and measures the compilation.
+     *
+     * @param config the configuration of the compilation
+     * @return the measurements of the compilation
+     */
+    protected PerformanceResult measure(TestConfiguration config) {
+        PerformanceResult result = new PerformanceResult();
+        PerformanceListener listener = new PerformanceListener(result);
+        new TypecheckExecutor() {
+            @Override
+            protected void prepareTask(JavaCompiler.CompilationTask task) {
+                ((JavacTask) task).addTaskListener(listener);
+            }
+        }.compile(config);
+        listener.endInterval();
+        return result;
+    }
+
+    /**
+     * Returns the file that contains the baseline of this test.
+     *
+     * @return the baseline file of this test
+     */
+    protected File getBaselineFile() {
+        String baselineDir =
+                System.getProperty(
+                        BASELINE_DIR_PROPERTY,
+                        "tests" + File.separator + "build" + File.separator + "performance");
+        return new File(baselineDir, getClass().getSimpleName() + ".json");
+    }
+}
@@ -0,0 +1,54 @@
+package org.checkerframework.framework.test;
+
+import org.checkerframework.framework.test.diagnostics.TestDiagnostic;
+import org.checkerframework.framework.test.diagnostics.TestDiagnosticUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * A TypecheckExecutor that collects the notes issued during the compilation, such as the summaries
+ * that a checker prints when type-checking is over. Notes cannot be written as expected diagnostics
+ * in a test file, and their text often depends on the run, so they are not reported as unexpected
+ * diagnostics. Instead, a test can examine them with {@link #getNotes} after {@link #runTest}.
+ */
+public class NoteCollectingTypecheckExecutor extends TypecheckExecutor {
+
+    /** The messages of the notes issued during the last compilation. */
+    private final List<String> notes = new ArrayList<>();
+
+    /**
+     * Returns the messages of the notes issued during the last compilation, without their source
+     * positions, in the order in which they were issued.
+     *
+     * @return the messages of the notes
+     */
+    public List<String> getNotes() {
+        return Collections.unmodifiableList(notes);
+    }
+
+    @Override
+    protected List<TestDiagnostic> readDiagnostics(
+            TestConfiguration config, CompilationResult compilationResult) {
+        List<TestDiagnostic> expectedDiagnostics =
+                new ArrayList<>(super.readDiagnostics(config, compilationResult));
+        List<Diagnostic<? extends JavaFileObject>> noteDiagnostics = new ArrayList<>();
+        notes.clear();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : compilationResult.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.NOTE) {
+                noteDiagnostics.add(diagnostic);
+                notes.add(diagnostic.getMessage(Locale.ROOT));
+            }
+        }
+        // Convert the notes the same way as the actual diagnostics, so that they match.
+        boolean noMsgText = config.getOptions().containsKey("-Anomsgtext");
+        expectedDiagnostics.addAll(
+                TestDiagnosticUtils.fromJavaxDiagnosticList(noteDiagnostics, noMsgText));
+        return expectedDiagnostics;
+    }
+}
@@ -0,0 +1,81 @@
+package org.checkerframework.framework.test;
+
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.RunnerScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs the children of a {@link PerDirectorySuite} or a {@link PerFileSuite} concurrently, each
+ * child in its own compilation, in the same JVM. The number of threads is the value of the system
+ * property {@value #THREADS_PROPERTY}; if it is not set, or is at most 1, the children run one
+ * after another.
+ *
+ * <p>Running in one JVM lets the compilations share the JIT-compiled code of javac and the checker,
+ * and the caches that do not depend on a compilation, such as parsed stub files.
+ *
+ * <p>This mode is not safe in general, so it is off by default. Concurrent compilations share all
+ * static state, and some checkers still keep compilation-specific state in static fields, such as
+ * {@code Range.ignoreOverflow}, which the Value Checker sets from a command-line option. Use it
+ * only for checkers whose static state has been audited, and rerun any failure one test case at a
+ * time.
+ */
+class ParallelScheduler implements RunnerScheduler {
+
+    /** The system property that contains the number of threads on which to run tests. */
+    public static final String THREADS_PROPERTY = "tests.threads";
+
+    /** Runs the children. */
+    private final ExecutorService executor;
+
+    /** The results of the scheduled children, in the order they were scheduled. */
+    private final List<Future<?>> children = new ArrayList<>();
+
+    /**
+     * Creates a ParallelScheduler.
+     *
+     * @param threads the number of children to run at once
+     */
+    private ParallelScheduler(int threads) {
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Makes {@code suite} run its children concurrently, if the system property {@value
+     * #THREADS_PROPERTY} requests more than one thread.
+     *
+     * @param suite a test suite
+     */
+    static void configure(ParentRunner<?> suite) {
+        int threads = Integer.getInteger(THREADS_PROPERTY, 1);
+        if (threads > 1) {
+            suite.setScheduler(new ParallelScheduler(threads));
+        }
+    }
+
+    @Override
+    public void schedule(Runnable childStatement) {
+        children.add(executor.submit(childStatement));
+    }
+
+    @Override
+    public void finished() {
+        try {
+            for (Future<?> child : children) {
+                child.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // JUnit reports test failures to the notifier, so this is a bug in the test runner.
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
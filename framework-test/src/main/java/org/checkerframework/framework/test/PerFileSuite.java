@@ -33,6 +33,9 @@ import java.util.List;
  * method must return either a {@code List<File>} where each element of the list is a Java file to
  * test against OR a {@code String []} where each String in the array is a directory in the tests
  * directory.
+ *
+ * <p>To run the test cases concurrently, set the system property {@code tests.threads}; see {@link
+ * ParallelScheduler}.
  */
 public class PerFileSuite extends Suite {
 
@@ -61,6 +64,7 @@ public class PerFileSuite extends Suite {
         for (Object[] parameters : parametersList) {
             runners.add(new PerParameterSetTestRunner(javaTestClass, parameters));
         }
+        ParallelScheduler.configure(this);
     }
 
     /** Returns a list of one-element arrays, each containing a Java File. */
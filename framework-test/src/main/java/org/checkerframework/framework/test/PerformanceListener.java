@@ -0,0 +1,139 @@
+package org.checkerframework.framework.test;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+
+/**
+ * Measures the time and memory used by each phase of a compilation, in total and for each file. Add
+ * it to a compilation task before any annotation processor adds its own listener.
+ *
+ * <p>The interval between two consecutive task events is charged to the phase and file of the first
+ * one. A checker runs when javac finishes analyzing a class, so the interval that starts with the
+ * end of the analysis of a class is charged to the "check" phase. This relies on javac calling
+ * listeners in the order in which they were added, so that this listener sees the end of the
+ * analysis before the checker runs.
+ *
+ * <p>Allocation is measured only on JVMs that support {@code
+ * com.sun.management.ThreadMXBean#getThreadAllocatedBytes}.
+ */
+public class PerformanceListener implements TaskListener {
+
+    /** The phase in which a checker runs. */
+    public static final String CHECK = "check";
+
+    /** The phase for time that is not spent in any other phase. */
+    public static final String OTHER = "other";
+
+    /** The result to which the measurements are added. */
+    private final PerformanceResult result;
+
+    /** Used to measure allocation, or null if the JVM does not support it. */
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    /** The phase of the current interval. */
+    private String phase = OTHER;
+
+    /** The file of the current interval, or null if the current phase is not specific to a file. */
+    private String file = null;
+
+    /** The value of {@link System#nanoTime} at the start of the current interval. */
+    private long startNanos;
+
+    /** The bytes allocated by this thread at the start of the current interval. */
+    private long startBytes;
+
+    /**
+     * Creates a PerformanceListener and starts its first interval.
+     *
+     * @param result where to add the measurements
+     */
+    public PerformanceListener(PerformanceResult result) {
+        this.result = result;
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            threadBean = (com.sun.management.ThreadMXBean) bean;
+        } else {
+            threadBean = null;
+        }
+        startNanos = System.nanoTime();
+        startBytes = allocatedBytes();
+    }
+
+    @Override
+    public void started(TaskEvent e) {
+        endInterval();
+        phase = e.getKind().name().toLowerCase(Locale.ROOT);
+        file = getFile(e);
+    }
+
+    @Override
+    public void finished(TaskEvent e) {
+        endInterval();
+        if (e.getKind() == TaskEvent.Kind.ANALYZE) {
+            phase = CHECK;
+            file = getFile(e);
+        } else {
+            phase = OTHER;
+            file = null;
+        }
+    }
+
+    /**
+     * Charges the current interval to its phase and file, and starts a new interval. Call this once
+     * more after the compilation, to charge the last interval.
+     */
+    public void endInterval() {
+        long nanos = System.nanoTime();
+        long bytes = allocatedBytes();
+        long micros = (nanos - startNanos) / 1000;
+        result.add(PerformanceResult.TIME, phase, file, micros);
+        result.add(PerformanceResult.TIME, PerformanceResult.TOTAL, null, micros);
+        if (threadBean != null) {
+            result.add(PerformanceResult.ALLOCATION, phase, file, bytes - startBytes);
+            result.add(
+                    PerformanceResult.ALLOCATION,
+                    PerformanceResult.TOTAL,
+                    null,
+                    bytes - startBytes);
+        }
+        startNanos = nanos;
+        startBytes = bytes;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread, or 0 if that is not supported.
+     *
+     * @return the number of bytes allocated by the current thread
+     */
+    private long allocatedBytes() {
+        if (threadBean == null) {
+            return 0;
+        }
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Returns the name of the file that {@code e} is about, relative to the working directory if
+     * possible so that results from different checkouts can be compared, or null if {@code e} is
+     * not about a file.
+     *
+     * @param e a task event
+     * @return the name of the file of {@code e}, or null
+     */
+    private static String getFile(TaskEvent e) {
+        CompilationUnitTree root = e.getCompilationUnit();
+        if (root == null || root.getSourceFile() == null) {
+            return null;
+        }
+        String name = root.getSourceFile().getName();
+        String workingDirectory = System.getProperty("user.dir") + File.separator;
+        return name.startsWith(workingDirectory) ? name.substring(workingDirectory.length()) : name;
+    }
+}
@@ -0,0 +1,184 @@
+package org.checkerframework.framework.test;
+
+import org.checkerframework.javacutil.BugInCF;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The time and memory used by one compilation, as measured by a {@link PerformanceListener}, or the
+ * best of several compilations.
+ *
+ * <p>Each measurement has a key of the form <em>metric</em>:<em>phase</em> or
+ * <em>metric</em>:<em>phase</em>:<em>file</em>, where the metric is {@link #TIME} (in microseconds)
+ * or {@link #ALLOCATION} (in bytes), and the phase is a javac phase, such as "parse", or "check"
+ * for the time spent in the checker. A result is stored as a flat JSON object that maps the keys to
+ * the measurements.
+ */
+public class PerformanceResult {
+
+    /** The metric for elapsed time, in microseconds. */
+    public static final String TIME = "time";
+
+    /** The metric for allocated memory, in bytes. */
+    public static final String ALLOCATION = "allocation";
+
+    /** The phase that includes all of the other phases. */
+    public static final String TOTAL = "total";
+
+    /**
+     * Times smaller than this, in microseconds, are too noisy to compare and are not reported as
+     * regressions.
+     */
+    private static final long MIN_COMPARED_TIME = 100_000;
+
+    /**
+     * Allocations smaller than this, in bytes, are too noisy to compare and are not reported as
+     * regressions.
+     */
+    private static final long MIN_COMPARED_ALLOCATION = 10L * 1024 * 1024;
+
+    /** Matches one entry of the JSON object written by {@link #write}. */
+    private static final Pattern JSON_ENTRY =
+            Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"\\s*:\\s*(\\d+)");
+
+    /** Maps keys to measurements. */
+    private final Map<String, Long> measurements = new TreeMap<>();
+
+    /** Creates an empty PerformanceResult. */
+    public PerformanceResult() {}
+
+    /**
+     * Adds {@code value} to the measurement for {@code metric} in {@code phase}, both in total and
+     * for {@code file}.
+     *
+     * @param metric {@link #TIME} or {@link #ALLOCATION}
+     * @param phase the phase that was measured
+     * @param file the file that was being processed, or null if the phase is not specific to a file
+     * @param value the amount to add
+     */
+    public void add(String metric, String phase, String file, long value) {
+        measurements.merge(metric + ":" + phase, value, Long::sum);
+        if (file != null) {
+            measurements.merge(metric + ":" + phase + ":" + file, value, Long::sum);
+        }
+    }
+
+    /**
+     * Returns the measurements, keyed as described in the class documentation.
+     *
+     * @return the measurements
+     */
+    public Map<String, Long> getMeasurements() {
+        return Collections.unmodifiableMap(measurements);
+    }
+
+    /**
+     * Returns, for each key, the smaller of the measurements in this and {@code other}. The best of
+     * several runs is less affected by noise than any one run.
+     *
+     * @param other another result for the same compilation
+     * @return the smaller of each pair of measurements
+     */
+    public PerformanceResult min(PerformanceResult other) {
+        PerformanceResult result = new PerformanceResult();
+        result.measurements.putAll(measurements);
+        for (Map.Entry<String, Long> entry : other.measurements.entrySet()) {
+            result.measurements.merge(entry.getKey(), entry.getValue(), Math::min);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a description of each measurement that is larger than in {@code baseline} by more
+     * than {@code threshold} percent. Measurements that are small in the baseline, or that are
+     * missing from either result, are not compared.
+     *
+     * @param baseline the result to compare against
+     * @param threshold the allowed increase, in percent
+     * @return a description of each regression, or the empty list if there are none
+     */
+    public List<String> findRegressions(PerformanceResult baseline, double threshold) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : measurements.entrySet()) {
+            String key = entry.getKey();
+            Long baselineValue = baseline.measurements.get(key);
+            if (baselineValue == null) {
+                continue;
+            }
+            long minCompared =
+                    key.startsWith(TIME + ":") ? MIN_COMPARED_TIME : MIN_COMPARED_ALLOCATION;
+            if (baselineValue < minCompared) {
+                continue;
+            }
+            long value = entry.getValue();
+            if (value > baselineValue * (1 + threshold / 100)) {
+                regressions.add(
+                        String.format(
+                                "%s: %d (baseline %d, +%.0f%%)",
+                                key,
+                                value,
+                                baselineValue,
+                                100.0 * (value - baselineValue) / baselineValue));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Writes this result to {@code file} as a JSON object.
+     *
+     * @param file the file to write
+     */
+    public void write(File file) {
+        StringBuilder json = new StringBuilder("{");
+        String separator = System.lineSeparator();
+        for (Map.Entry<String, Long> entry : measurements.entrySet()) {
+            json.append(separator);
+            json.append("  \"");
+            json.append(entry.getKey().replace("\\", "\\\\").replace("\"", "\\\""));
+            json.append("\": ");
+            json.append(entry.getValue());
+            separator = "," + System.lineSeparator();
+        }
+        json.append(System.lineSeparator()).append("}").append(System.lineSeparator());
+
+        TestUtilities.ensureDirectoryExists(file.getAbsoluteFile().getParentFile());
+        try {
+            Files.write(file.toPath(), json.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new BugInCF("Cannot write performance baseline " + file, e);
+        }
+    }
+
+    /**
+     * Reads a result that was written by {@link #write}.
+     *
+     * @param file the file to read
+     * @return the result in {@code file}
+     */
+    public static PerformanceResult read(File file) {
+        String json;
+        try {
+            json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new BugInCF("Cannot read performance baseline " + file, e);
+        }
+        PerformanceResult result = new PerformanceResult();
+        Matcher matcher = JSON_ENTRY.matcher(json);
+        while (matcher.find()) {
+            String key = matcher.group(1).replaceAll("\\\\(.)", "$1");
+            result.measurements.put(key, Long.parseLong(matcher.group(2)));
+        }
+        return result;
+    }
+}
@@ -92,6 +92,8 @@ public class TypecheckExecutor {
                         new ArrayList<String>(),
                         javaFiles);
 
+        prepareTask(task);
+
         /*
          * In Eclipse, std out and std err for multiple tests appear as one
          * long stream. When selecting a specific failed test, one sees the
@@ -107,6 +109,14 @@ public class TypecheckExecutor {
                 diagnostics.getDiagnostics());
     }
 
+    /**
+     * Called immediately before the compilation task is run. Added in case a subclass wishes to
+     * observe the compilation, for example by adding a {@link com.sun.source.util.TaskListener}.
+     *
+     * @param task the compilation task that {@link #compile} is about to run
+     */
+    protected void prepareTask(JavaCompiler.CompilationTask task) {}
+
     /**
      * Reads the expected diagnostics for the given configuration and creates a TypecheckResult
      * which contains all of the missing and expected diagnostics
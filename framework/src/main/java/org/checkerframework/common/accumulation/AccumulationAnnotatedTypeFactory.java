@@ -18,13 +18,18 @@ import org.checkerframework.framework.util.MultiGraphQualifierHierarchy.MultiGra
 import org.checkerframework.javacutil.AnnotationBuilder;
 import org.checkerframework.javacutil.AnnotationUtils;
 import org.checkerframework.javacutil.BugInCF;
+import org.checkerframework.javacutil.CollectionUtils;
 import org.checkerframework.javacutil.TreeUtils;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.ExecutableElement;
@@ -53,6 +58,26 @@ public abstract class AccumulationAnnotatedTypeFactory extends BaseAnnotatedType
      */
     private final Class<? extends Annotation> accumulator;
 
+    /**
+     * Maps each value that appears in an accumulator annotation to its index in {@link
+     * #indexedValues}, which is also its bit in the result of {@link
+     * #getAccumulatedBits(AnnotationMirror)}.
+     */
+    private final Map<String, Integer> valueIndices = new HashMap<>();
+
+    /** The values that appear in accumulator annotations, in the order they were first seen. */
+    private final List<String> indexedValues = new ArrayList<>();
+
+    /** The maximum number of entries in {@link #accumulatedBitsCache}. */
+    private static final int ACCUMULATED_BITS_CACHE_SIZE = 300;
+
+    /**
+     * Maps an accumulator annotation to the set of bits of the values it has accumulated. The
+     * bitsets must not be side-effected.
+     */
+    private final Map<AnnotationMirror, BitSet> accumulatedBitsCache =
+            CollectionUtils.createLRUCache(ACCUMULATED_BITS_CACHE_SIZE);
+
     /**
      * Create an annotated type factory for an accumulation checker.
      *
@@ -110,13 +135,14 @@ public abstract class AccumulationAnnotatedTypeFactory extends BaseAnnotatedType
      * values}.
      *
      * @param values the arguments to the annotation. The values can contain duplicates and can be
-     *     in any order.
+     *     in any order. The annotation contains them sorted and without duplicates, so that equal
+     *     sets of values produce the same annotation.
      * @return an annotation mirror representing the accumulator annotation with {@code values}'s
      *     arguments; this is top if {@code values} is empty
      */
     public AnnotationMirror createAccumulatorAnnotation(List<String> values) {
         AnnotationBuilder builder = new AnnotationBuilder(processingEnv, accumulator);
-        builder.setValue("value", ValueCheckerUtils.removeDuplicates(values));
+        builder.setValue("value", new ArrayList<>(new TreeSet<>(values)));
         return builder.build();
     }
 
@@ -238,6 +264,65 @@ public abstract class AccumulationAnnotatedTypeFactory extends BaseAnnotatedType
         }
     }
 
+    /**
+     * Returns the values that {@code anno} has accumulated, as a set of indices into {@link
+     * #indexedValues}. Qualifier operations use this representation so that they are linear in the
+     * number of distinct accumulated values, rather than quadratic in the size of the annotations.
+     *
+     * @param anno an accumulator annotation; must not be bottom
+     * @return the bits of the values {@code anno} has accumulated; must not be side-effected
+     */
+    private BitSet getAccumulatedBits(AnnotationMirror anno) {
+        BitSet bits = accumulatedBitsCache.get(anno);
+        if (bits == null) {
+            bits = new BitSet();
+            for (String value : getAccumulatedValues(anno)) {
+                Integer index = valueIndices.get(value);
+                if (index == null) {
+                    index = indexedValues.size();
+                    indexedValues.add(value);
+                    valueIndices.put(value, index);
+                }
+                bits.set(index);
+            }
+            accumulatedBitsCache.put(anno, bits);
+        }
+        return bits;
+    }
+
+    /**
+     * Creates a new instance of the accumulator annotation that contains the values whose indices
+     * are set in {@code bits}.
+     *
+     * @param bits indices into {@link #indexedValues}
+     * @return an annotation mirror representing the accumulator annotation with those values
+     */
+    private AnnotationMirror createAccumulatorAnnotation(BitSet bits) {
+        List<String> values = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            values.add(indexedValues.get(i));
+        }
+        AnnotationMirror result = createAccumulatorAnnotation(values);
+        accumulatedBitsCache.put(result, bits);
+        return result;
+    }
+
+    /**
+     * Returns true if every bit that is set in {@code subset} is also set in {@code superset}.
+     *
+     * @param subset a set of bits
+     * @param superset a set of bits
+     * @return true if {@code subset} is a subset of {@code superset}
+     */
+    private static boolean isSubset(BitSet subset, BitSet superset) {
+        for (int i = subset.nextSetBit(0); i >= 0; i = subset.nextSetBit(i + 1)) {
+            if (!superset.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * All accumulation analyses share a similar type hierarchy. This class implements the
      * subtyping, LUB, and GLB for that hierarchy. The lattice looks like:
@@ -279,17 +364,18 @@ public abstract class AccumulationAnnotatedTypeFactory extends BaseAnnotatedType
                 return bottom;
             }
 
-            List<String> a1Val = getAccumulatedValues(a1);
-            List<String> a2Val = getAccumulatedValues(a2);
+            BitSet a1Val = getAccumulatedBits(a1);
+            BitSet a2Val = getAccumulatedBits(a2);
             // Avoid creating new annotation objects in the common case.
-            if (a1Val.containsAll(a2Val)) {
+            if (isSubset(a2Val, a1Val)) {
                 return a1;
             }
-            if (a2Val.containsAll(a1Val)) {
+            if (isSubset(a1Val, a2Val)) {
                 return a2;
             }
-            a1Val.addAll(a2Val);
-            return createAccumulatorAnnotation(a1Val);
+            BitSet union = (BitSet) a1Val.clone();
+            union.or(a2Val);
+            return createAccumulatorAnnotation(union);
         }
 
         /**
@@ -305,17 +391,18 @@ public abstract class AccumulationAnnotatedTypeFactory extends BaseAnnotatedType
                 return a1;
             }
 
-            List<String> a1Val = getAccumulatedValues(a1);
-            List<String> a2Val = getAccumulatedValues(a2);
+            BitSet a1Val = getAccumulatedBits(a1);
+            BitSet a2Val = getAccumulatedBits(a2);
             // Avoid creating new annotation objects in the common case.
-            if (a1Val.containsAll(a2Val)) {
+            if (isSubset(a2Val, a1Val)) {
                 return a2;
             }
-            if (a2Val.containsAll(a1Val)) {
+            if (isSubset(a1Val, a2Val)) {
                 return a1;
             }
-            a1Val.retainAll(a2Val);
-            return createAccumulatorAnnotation(a1Val);
+            BitSet intersection = (BitSet) a1Val.clone();
+            intersection.and(a2Val);
+            return createAccumulatorAnnotation(intersection);
         }
 
         /** isSubtype in this type system is subset. */
@@ -327,9 +414,7 @@ public abstract class AccumulationAnnotatedTypeFactory extends BaseAnnotatedType
                 return false;
             }
 
-            List<String> subVal = getAccumulatedValues(subAnno);
-            List<String> superVal = getAccumulatedValues(superAnno);
-            return subVal.containsAll(superVal);
+            return isSubset(getAccumulatedBits(superAnno), getAccumulatedBits(subAnno));
         }
     }
 }
@@ -476,6 +476,18 @@ public abstract class BaseTypeChecker extends SourceChecker implements BaseTypeC
         return treePathCacher;
     }
 
+    /**
+     * Sets the TreePathCacher that this checker and its subcheckers use. Must be called before this
+     * checker is initialized. An {@link org.checkerframework.framework.source.AggregateChecker}
+     * uses this to share one TreePathCacher among its component checkers; it is then responsible
+     * for clearing the TreePathCacher when the compilation unit changes.
+     *
+     * @param treePathCacher the TreePathCacher to use
+     */
+    public void setTreePathCacher(TreePathCacher treePathCacher) {
+        this.treePathCacher = treePathCacher;
+    }
+
     // AbstractTypeProcessor delegation
     @Override
     public void typeProcess(TypeElement element, TreePath tree) {
@@ -216,7 +216,7 @@ public class BaseTypeVisitor<Factory extends GenericAnnotatedTypeFactory<?, ?, ?
 
         this.checker = checker;
         this.atypeFactory = typeFactory == null ? createTypeFactory() : typeFactory;
-        this.contractsUtils = ContractsUtils.getInstance(atypeFactory);
+        this.contractsUtils = atypeFactory.getContractsUtils();
         this.positions = trees.getSourcePositions();
         this.visitorState = atypeFactory.getVisitorState();
         this.typeValidator = createTypeValidator();
@@ -285,6 +285,17 @@ public class BaseTypeVisitor<Factory extends GenericAnnotatedTypeFactory<?, ?, ?
 
     @Override
     public Void scan(Tree tree, Void p) {
+        if (checker.isErrorLimitReached()) {
+            // Stop visiting the class after -AmaxErrorsPerClass or -AmaxErrors errors.
+            return null;
+        }
+        if (tree != null
+                && tree.getKind() == Tree.Kind.METHOD
+                && (checker.shouldSkipLines(root, tree)
+                        || checker.shouldSkipBaselined(root, tree))) {
+            // Skip methods outside the regions given by -AonlyLines, or accepted by -Abaseline.
+            return null;
+        }
         if (tree != null && getCurrentPath() != null) {
             this.visitorState.setPath(new TreePath(getCurrentPath(), tree));
         }
@@ -292,8 +303,9 @@ public class BaseTypeVisitor<Factory extends GenericAnnotatedTypeFactory<?, ?, ?
     }
 
     /**
-     * Type-check classTree and skips classes specified by the skipDef option. Subclasses should
-     * override {@link #processClassTree(ClassTree)} instead of this method.
+     * Type-check classTree and skips classes specified by the skipDef, onlyLines, and baseline
+     * options. Subclasses should override {@link #processClassTree(ClassTree)} instead of this
+     * method.
      *
      * @param classTree class to check
      * @param p null
@@ -301,7 +313,9 @@ public class BaseTypeVisitor<Factory extends GenericAnnotatedTypeFactory<?, ?, ?
      */
     @Override
     public final Void visitClass(ClassTree classTree, Void p) {
-        if (checker.shouldSkipDefs(classTree)) {
+        if (checker.shouldSkipDefs(classTree)
+                || checker.shouldSkipLines(root, classTree)
+                || checker.shouldSkipBaselined(root, classTree)) {
             // Not "return super.visitClass(classTree, p);" because that would
             // recursively call visitors on subtrees; we want to skip the
             // class entirely.
@@ -1707,6 +1721,7 @@ public class BaseTypeVisitor<Factory extends GenericAnnotatedTypeFactory<?, ?, ?
 
     @Override
     public Void visitLambdaExpression(LambdaExpressionTree node, Void p) {
+        atypeFactory.checkAndPerformDeferredFlowAnalysis(node);
 
         AnnotatedExecutableType functionType = atypeFactory.getFunctionTypeFromTree(node);
 
@@ -3351,7 +3366,7 @@ public class BaseTypeVisitor<Factory extends GenericAnnotatedTypeFactory<?, ?, ?
             }
 
             // Check postconditions
-            ContractsUtils contracts = ContractsUtils.getInstance(atypeFactory);
+            ContractsUtils contracts = atypeFactory.getContractsUtils();
             Set<Postcondition> superPost = contracts.getPostconditions(overridden.getElement());
             Set<Postcondition> subPost = contracts.getPostconditions(overrider.getElement());
             Set<Pair<Receiver, AnnotationMirror>> superPost2 =
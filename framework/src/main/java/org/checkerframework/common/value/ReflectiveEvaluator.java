@@ -7,6 +7,7 @@ import com.sun.source.tree.NewClassTree;
 import org.checkerframework.checker.signature.qual.ClassGetName;
 import org.checkerframework.checker.signature.qual.DotSeparatedIdentifiers;
 import org.checkerframework.common.basetype.BaseTypeChecker;
+import org.checkerframework.javacutil.CollectionUtils;
 import org.checkerframework.javacutil.ElementUtils;
 import org.checkerframework.javacutil.SystemUtil;
 import org.checkerframework.javacutil.TreeUtils;
@@ -19,7 +20,10 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
@@ -43,6 +47,75 @@ public class ReflectiveEvaluator {
      */
     private boolean reportWarnings;
 
+    /**
+     * The maximum number of argument and receiver combinations for which a method or constructor is
+     * evaluated. Callers use {@link #isEvaluationFeasible} to avoid evaluating a call with more
+     * possible combinations: its result would have more than {@link
+     * ValueAnnotatedTypeFactory#MAX_VALUES} values in most cases, so it would be widened anyway.
+     */
+    private static final int MAX_EVALUATIONS = 1000;
+
+    /** The number of method invocation results stored in {@link #resultCache}. */
+    private static final int RESULT_CACHE_SIZE = 1000;
+
+    /**
+     * Map from a method element to the corresponding reflective Method object, for methods that
+     * were found. Resolving a Method requires loading its class and all its parameter classes.
+     */
+    private final Map<ExecutableElement, Method> methodCache = new HashMap<>();
+
+    /**
+     * Map from a method invocation to its result. The same constant calls are evaluated repeatedly,
+     * for example once per iteration of the dataflow fixpoint computation.
+     */
+    private final Map<Invocation, Object> resultCache =
+            CollectionUtils.createLRUCache(RESULT_CACHE_SIZE);
+
+    /**
+     * A method, a receiver, and arguments, used as the key of {@link #resultCache}. Arguments that
+     * are arrays, such as the array of a varargs call or a {@code char[]}, are compared by their
+     * contents.
+     */
+    private static final class Invocation {
+        /** The invoked method. */
+        private final Method method;
+
+        /** The receiver, or null for a static method. */
+        private final Object receiver;
+
+        /** The arguments, or null if there are none. */
+        private final Object[] arguments;
+
+        /**
+         * Creates an Invocation.
+         *
+         * @param method the invoked method
+         * @param receiver the receiver, or null for a static method
+         * @param arguments the arguments, or null if there are none
+         */
+        Invocation(Method method, Object receiver, Object[] arguments) {
+            this.method = method;
+            this.receiver = receiver;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Invocation)) {
+                return false;
+            }
+            Invocation other = (Invocation) obj;
+            return method.equals(other.method)
+                    && Objects.deepEquals(receiver, other.receiver)
+                    && Arrays.deepEquals(arguments, other.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.deepHashCode(new Object[] {method, receiver, arguments});
+        }
+    }
+
     public ReflectiveEvaluator(
             BaseTypeChecker checker, ValueAnnotatedTypeFactory factory, boolean reportWarnings) {
         this.checker = checker;
@@ -51,7 +124,8 @@ public class ReflectiveEvaluator {
 
     /**
      * Returns all possible values that the method may return, or null if the method could not be
-     * evaluated.
+     * evaluated. The caller should first check that the evaluation is feasible, using {@link
+     * #isEvaluationFeasible}.
      *
      * @param allArgValues a list of list where the first list corresponds to all possible values
      *     for the first argument. Pass null to indicate that the method has no arguments.
@@ -63,17 +137,17 @@ public class ReflectiveEvaluator {
      */
     public List<?> evaluateMethodCall(
             List<List<?>> allArgValues, List<?> receiverValues, MethodInvocationTree tree) {
-        Method method = getMethodObject(tree);
-        if (method == null) {
-            return null;
-        }
-
         if (receiverValues == null) {
             // Method does not have a receiver
             // the first parameter of Method.invoke should be null
             receiverValues = Collections.singletonList(null);
         }
 
+        Method method = getMethodObject(tree);
+        if (method == null) {
+            return null;
+        }
+
         List<Object[]> listOfArguments;
         if (allArgValues == null) {
             // Method does not have arguments
@@ -96,8 +170,15 @@ public class ReflectiveEvaluator {
         List<Object> results = new ArrayList<>();
         for (Object[] arguments : listOfArguments) {
             for (Object receiver : receiverValues) {
+                Invocation key = new Invocation(method, receiver, arguments);
+                if (resultCache.containsKey(key)) {
+                    results.add(resultCache.get(key));
+                    continue;
+                }
                 try {
-                    results.add(method.invoke(receiver, arguments));
+                    Object result = method.invoke(receiver, arguments);
+                    resultCache.put(key, result);
+                    results.add(result);
                 } catch (InvocationTargetException e) {
                     if (reportWarnings) {
                         checker.reportWarning(
@@ -140,6 +221,29 @@ public class ReflectiveEvaluator {
         return results;
     }
 
+    /**
+     * Returns true if the number of argument and receiver combinations is at most {@link
+     * #MAX_EVALUATIONS}, so that {@link #evaluateMethodCall} or {@link #evaluteConstructorCall} can
+     * evaluate each of them.
+     *
+     * @param allArgValues a list of list where the first list corresponds to all possible values
+     *     for the first argument, or null if there are no arguments
+     * @param numReceivers the number of possible receivers; 1 for a static method or a constructor
+     * @return true if evaluating every combination is feasible
+     */
+    public boolean isEvaluationFeasible(List<List<?>> allArgValues, int numReceivers) {
+        long combinations = numReceivers;
+        if (allArgValues != null) {
+            for (List<?> argValues : allArgValues) {
+                combinations *= argValues.size();
+                if (combinations > MAX_EVALUATIONS) {
+                    return false;
+                }
+            }
+        }
+        return combinations <= MAX_EVALUATIONS;
+    }
+
     /**
      * This method normalizes an array of arguments to a varargs method by changing the arguments
      * associated with the varargs parameter into an array.
@@ -179,6 +283,10 @@ public class ReflectiveEvaluator {
      */
     private Method getMethodObject(MethodInvocationTree tree) {
         final ExecutableElement ele = TreeUtils.elementFromUse(tree);
+        Method cached = methodCache.get(ele);
+        if (cached != null) {
+            return cached;
+        }
         List<Class<?>> paramClzz = null;
         try {
             @DotSeparatedIdentifiers Name clazz =
@@ -194,6 +302,7 @@ public class ReflectiveEvaluator {
             if (!acc) {
                 method.setAccessible(true);
             }
+            methodCache.put(ele, method);
             return method;
         } catch (ClassNotFoundException | UnsupportedClassVersionError | NoClassDefFoundError e) {
             if (reportWarnings) {
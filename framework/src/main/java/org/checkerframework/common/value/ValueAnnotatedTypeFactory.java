@@ -46,6 +46,7 @@ import org.checkerframework.framework.util.MultiGraphQualifierHierarchy.MultiGra
 import org.checkerframework.javacutil.AnnotationBuilder;
 import org.checkerframework.javacutil.AnnotationUtils;
 import org.checkerframework.javacutil.BugInCF;
+import org.checkerframework.javacutil.CollectionUtils;
 import org.checkerframework.javacutil.ElementUtils;
 import org.checkerframework.javacutil.TreeUtils;
 import org.checkerframework.javacutil.TypesUtils;
@@ -57,6 +58,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -107,6 +109,30 @@ public class ValueAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
     /** The maximum number of values allowed in an annotation's array. */
     protected static final int MAX_VALUES = 10;
 
+    /** The number of annotations whose values are cached by each of the values caches. */
+    private static final int VALUES_CACHE_SIZE = 300;
+
+    /**
+     * Cache for {@link #getCachedIntValues}: the sorted, duplicate-free values of an
+     * {@code @IntVal} annotation. Reading the values from an annotation is much more expensive than
+     * copying them from an array. AnnotationMirrors belong to one compilation, so the cache belongs
+     * to the factory.
+     */
+    private final Map<AnnotationMirror, long[]> intValuesCache =
+            CollectionUtils.createLRUCache(VALUES_CACHE_SIZE);
+
+    /** Cache for {@link #getCachedDoubleValues}, analogous to {@link #intValuesCache}. */
+    private final Map<AnnotationMirror, double[]> doubleValuesCache =
+            CollectionUtils.createLRUCache(VALUES_CACHE_SIZE);
+
+    /** Cache for {@link #getCachedArrayLength}, analogous to {@link #intValuesCache}. */
+    private final Map<AnnotationMirror, int[]> arrayLengthsCache =
+            CollectionUtils.createLRUCache(VALUES_CACHE_SIZE);
+
+    /** Cache for {@link #getCachedStringValues}, analogous to {@link #intValuesCache}. */
+    private final Map<AnnotationMirror, String[]> stringValuesCache =
+            CollectionUtils.createLRUCache(VALUES_CACHE_SIZE);
+
     /** The top type for this hierarchy. */
     protected final AnnotationMirror UNKNOWNVAL =
             AnnotationBuilder.fromClass(elements, UnknownVal.class);
@@ -383,13 +409,13 @@ public class ValueAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
     /* package-private*/ List<Long> getArrayLenOrIntValue(AnnotationMirror anno) {
         List<Long> result;
         if (AnnotationUtils.areSameByName(anno, ARRAYLEN_NAME)) {
-            List<Integer> intValues = getArrayLength(anno);
+            List<Integer> intValues = getCachedArrayLength(anno);
             result = new ArrayList<>(intValues.size());
             for (Integer i : intValues) {
                 result.add(i.longValue());
             }
         } else {
-            result = getIntValues(anno);
+            result = getCachedIntValues(anno);
         }
         return result;
     }
@@ -476,14 +502,14 @@ public class ValueAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
         switch (AnnotationUtils.annotationName(arrayAnno)) {
             case ARRAYLEN_NAME:
                 // array.length, where array : @ArrayLen(x)
-                List<Integer> lengths = ValueAnnotatedTypeFactory.getArrayLength(arrayAnno);
+                List<Integer> lengths = getCachedArrayLength(arrayAnno);
                 return createNumberAnnotationMirror(new ArrayList<>(lengths));
             case ARRAYLENRANGE_NAME:
                 // array.length, where array : @ArrayLenRange(x)
                 Range range = getRange(arrayAnno);
                 return createIntRangeAnnotation(range);
             case STRINGVAL_NAME:
-                List<String> strings = ValueAnnotatedTypeFactory.getStringValues(arrayAnno);
+                List<String> strings = getCachedStringValues(arrayAnno);
                 List<Integer> lengthsS = ValueCheckerUtils.getLengthsForStringValues(strings);
                 return createNumberAnnotationMirror(new ArrayList<>(lengthsS));
             default:
@@ -657,7 +683,7 @@ public class ValueAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
 
     /** Convert an {@code @IntVal} annotation to a {@code @DoubleVal} annotation. */
     /* package-private */ AnnotationMirror convertIntValToDoubleVal(AnnotationMirror intValAnno) {
-        List<Long> intValues = getIntValues(intValAnno);
+        List<Long> intValues = getCachedIntValues(intValAnno);
         return createDoubleValAnnotation(convertLongListToDoubleList(intValues));
     }
 
@@ -910,7 +936,7 @@ public class ValueAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
     /** Converts an {@code @StringVal} annotation to an {@code @ArrayLenRange} annotation. */
     /* package-private */ AnnotationMirror convertStringValToArrayLenRange(
             AnnotationMirror stringValAnno) {
-        List<String> values = getStringValues(stringValAnno);
+        List<String> values = getCachedStringValues(stringValAnno);
         List<Integer> lengths = ValueCheckerUtils.getLengthsForStringValues(values);
         return createArrayLenRangeAnnotation(Collections.min(lengths), Collections.max(lengths));
     }
@@ -922,19 +948,19 @@ public class ValueAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
      */
     /* package-private */ AnnotationMirror convertStringValToArrayLen(
             AnnotationMirror stringValAnno) {
-        List<String> values = getStringValues(stringValAnno);
+        List<String> values = getCachedStringValues(stringValAnno);
         return createArrayLenAnnotation(ValueCheckerUtils.getLengthsForStringValues(values));
     }
 
     /** Converts an {@code @ArrayLen} annotation to an {@code @ArrayLenRange} annotation. */
     public AnnotationMirror convertArrayLenToArrayLenRange(AnnotationMirror arrayLenAnno) {
-        List<Integer> values = getArrayLength(arrayLenAnno);
+        List<Integer> values = getCachedArrayLength(arrayLenAnno);
         return createArrayLenRangeAnnotation(Collections.min(values), Collections.max(values));
     }
 
     /** Converts an {@code @IntVal} annotation to an {@code @IntRange} annotation. */
     public AnnotationMirror convertIntValToIntRange(AnnotationMirror intValAnno) {
-        List<Long> intValues = getIntValues(intValAnno);
+        List<Long> intValues = getCachedIntValues(intValAnno);
         return createIntRangeAnnotation(Collections.min(intValues), Collections.max(intValues));
     }
 
@@ -991,6 +1017,31 @@ public class ValueAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
         return list;
     }
 
+    /**
+     * Like {@link #getIntValues}, but caches the values of each annotation, and always returns the
+     * values in ascending order. The result is a new list that the caller may modify.
+     *
+     * @param intAnno an {@code @IntVal} annotation, or null
+     * @return the values of {@code intAnno} in ascending order, or null if {@code intAnno} is null
+     */
+    public List<Long> getCachedIntValues(AnnotationMirror intAnno) {
+        if (intAnno == null) {
+            return null;
+        }
+        long[] values = intValuesCache.get(intAnno);
+        if (values == null) {
+            List<Long> list =
+                    AnnotationUtils.getElementValueArray(intAnno, "value", Long.class, true);
+            values = list.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+            intValuesCache.put(intAnno, values);
+        }
+        List<Long> result = new ArrayList<>(values.length);
+        for (long value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+
     /**
      * Returns the set of possible values as a sorted list with no duplicate values. Returns the
      * empty list if no values are possible (for dead code). Returns null if any value is possible
@@ -1009,6 +1060,32 @@ public class ValueAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
         return list;
     }
 
+    /**
+     * Like {@link #getDoubleValues}, but caches the values of each annotation, and always returns
+     * the values in ascending order. The result is a new list that the caller may modify.
+     *
+     * @param doubleAnno a {@code @DoubleVal} annotation, or null
+     * @return the values of {@code doubleAnno} in ascending order, or null if {@code doubleAnno} is
+     *     null
+     */
+    public List<Double> getCachedDoubleValues(AnnotationMirror doubleAnno) {
+        if (doubleAnno == null) {
+            return null;
+        }
+        double[] values = doubleValuesCache.get(doubleAnno);
+        if (values == null) {
+            List<Double> list =
+                    AnnotationUtils.getElementValueArray(doubleAnno, "value", Double.class, true);
+            values = list.stream().mapToDouble(Double::doubleValue).sorted().distinct().toArray();
+            doubleValuesCache.put(doubleAnno, values);
+        }
+        List<Double> result = new ArrayList<>(values.length);
+        for (double value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+
     /**
      * Returns the set of possible array lengths as a sorted list with no duplicate values. Returns
      * the empty list if no values are possible (for dead code). Returns null if any value is
@@ -1027,6 +1104,32 @@ public class ValueAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
         return list;
     }
 
+    /**
+     * Like {@link #getArrayLength}, but caches the lengths of each annotation, and always returns
+     * the lengths in ascending order. The result is a new list that the caller may modify.
+     *
+     * @param arrayAnno an {@code @ArrayLen} annotation, or null
+     * @return the lengths of {@code arrayAnno} in ascending order, or null if {@code arrayAnno} is
+     *     null
+     */
+    public List<Integer> getCachedArrayLength(AnnotationMirror arrayAnno) {
+        if (arrayAnno == null) {
+            return null;
+        }
+        int[] values = arrayLengthsCache.get(arrayAnno);
+        if (values == null) {
+            List<Integer> list =
+                    AnnotationUtils.getElementValueArray(arrayAnno, "value", Integer.class, true);
+            values = list.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+            arrayLengthsCache.put(arrayAnno, values);
+        }
+        List<Integer> result = new ArrayList<>(values.length);
+        for (int value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+
     /**
      * Returns the set of possible values as a sorted list with no duplicate values. Returns the
      * empty list if no values are possible (for dead code). Returns null if any value is possible
@@ -1088,6 +1191,28 @@ public class ValueAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
         return list;
     }
 
+    /**
+     * Like {@link #getStringValues}, but caches the values of each annotation, and always returns
+     * the values in ascending order. The result is a new list that the caller may modify.
+     *
+     * @param stringAnno a {@code @StringVal} annotation, or null
+     * @return the values of {@code stringAnno} in ascending order, or null if {@code stringAnno} is
+     *     null
+     */
+    public List<String> getCachedStringValues(AnnotationMirror stringAnno) {
+        if (stringAnno == null) {
+            return null;
+        }
+        String[] values = stringValuesCache.get(stringAnno);
+        if (values == null) {
+            List<String> list =
+                    AnnotationUtils.getElementValueArray(stringAnno, "value", String.class, true);
+            values = new TreeSet<>(list).toArray(new String[0]);
+            stringValuesCache.put(stringAnno, values);
+        }
+        return new ArrayList<>(Arrays.asList(values));
+    }
+
     public boolean isIntRange(Set<AnnotationMirror> anmSet) {
         for (AnnotationMirror anm : anmSet) {
             if (isIntRange(anm)) {
@@ -1129,10 +1254,11 @@ public class ValueAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
             case ARRAYLENRANGE_NAME:
                 return Long.valueOf(getRange(annotation).to).intValue();
             case ARRAYLEN_NAME:
-                return Collections.max(getArrayLength(annotation));
+                return Collections.max(getCachedArrayLength(annotation));
             case STRINGVAL_NAME:
                 return Collections.max(
-                        ValueCheckerUtils.getLengthsForStringValues(getStringValues(annotation)));
+                        ValueCheckerUtils.getLengthsForStringValues(
+                                getCachedStringValues(annotation)));
             default:
                 return null;
         }
@@ -1156,10 +1282,11 @@ public class ValueAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
             case ARRAYLENRANGE_NAME:
                 return Long.valueOf(getRange(annotation).from).intValue();
             case ARRAYLEN_NAME:
-                return Collections.min(getArrayLength(annotation));
+                return Collections.min(getCachedArrayLength(annotation));
             case STRINGVAL_NAME:
                 return Collections.min(
-                        ValueCheckerUtils.getLengthsForStringValues(getStringValues(annotation)));
+                        ValueCheckerUtils.getLengthsForStringValues(
+                                getCachedStringValues(annotation)));
             default:
                 return null;
         }
@@ -1193,7 +1320,7 @@ public class ValueAnnotatedTypeFactory extends BaseAnnotatedTypeFactory {
     public Long getMinimumIntegralValue(AnnotatedTypeMirror atm) {
         AnnotationMirror anm = atm.getAnnotationInHierarchy(UNKNOWNVAL);
         if (AnnotationUtils.areSameByName(anm, INTVAL_NAME)) {
-            List<Long> possibleValues = getIntValues(anm);
+            List<Long> possibleValues = getCachedIntValues(anm);
             return Collections.min(possibleValues);
         } else if (isIntRange(anm)) {
             Range range = getRange(anm);
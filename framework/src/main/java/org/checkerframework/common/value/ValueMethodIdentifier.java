@@ -1,7 +1,9 @@
 package org.checkerframework.common.value;
 
+import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.Tree;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.javacutil.TreeUtils;
 
 import java.util.List;
@@ -9,7 +11,14 @@ import java.util.List;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.ExecutableElement;
 
-/** Stores methods that have special handling in the value checker. */
+/**
+ * Stores methods that have special handling in the value checker.
+ *
+ * <p>None of these methods can be overridden: String is final and the Math methods are static. So
+ * an invoked method is compared with them by identity, rather than with {@link
+ * org.checkerframework.javacutil.ElementUtils#isMethod} or a {@link
+ * org.checkerframework.framework.util.MethodTable}.
+ */
 class ValueMethodIdentifier {
 
     /** String.length() method. */
@@ -31,19 +40,32 @@ class ValueMethodIdentifier {
         mathMaxMethod = TreeUtils.getMethods("java.lang.Math", "max", 2, processingEnv);
     }
 
+    /**
+     * Returns the method that {@code tree} invokes.
+     *
+     * @param tree a tree
+     * @return the invoked method, or null if {@code tree} is not a method invocation
+     */
+    private static @Nullable ExecutableElement getInvokedMethod(Tree tree) {
+        if (tree.getKind() != Tree.Kind.METHOD_INVOCATION) {
+            return null;
+        }
+        return TreeUtils.elementFromUse((MethodInvocationTree) tree);
+    }
+
     /** Returns true iff the argument is an invocation of Math.min. */
     public boolean isMathMin(Tree methodTree, ProcessingEnvironment processingEnv) {
-        return TreeUtils.isMethodInvocation(methodTree, mathMinMethod, processingEnv);
+        return mathMinMethod.contains(getInvokedMethod(methodTree));
     }
 
     /** Returns true iff the argument is an invocation of Math.max. */
     public boolean isMathMax(Tree methodTree, ProcessingEnvironment processingEnv) {
-        return TreeUtils.isMethodInvocation(methodTree, mathMaxMethod, processingEnv);
+        return mathMaxMethod.contains(getInvokedMethod(methodTree));
     }
 
     /** Determines whether a tree is an invocation of the {@code String.length()} method. */
     public boolean isStringLengthInvocation(Tree tree, ProcessingEnvironment processingEnv) {
-        return TreeUtils.isMethodInvocation(tree, lengthMethod, processingEnv);
+        return lengthMethod.equals(getInvokedMethod(tree));
     }
 
     /** Determines whether a method is the {@code String.length()} method. */
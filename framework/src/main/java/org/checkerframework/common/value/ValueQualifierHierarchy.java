@@ -34,16 +34,16 @@ final class ValueQualifierHierarchy extends MultiGraphQualifierHierarchy {
      */
     private AnnotationMirror glbOfStringVal(
             AnnotationMirror stringValAnno, AnnotationMirror otherAnno) {
-        List<String> values = ValueAnnotatedTypeFactory.getStringValues(stringValAnno);
+        List<String> values = atypeFactory.getCachedStringValues(stringValAnno);
         switch (AnnotationUtils.annotationName(otherAnno)) {
             case ValueAnnotatedTypeFactory.STRINGVAL_NAME:
                 // Intersection of value lists
-                List<String> otherValues = ValueAnnotatedTypeFactory.getStringValues(otherAnno);
+                List<String> otherValues = atypeFactory.getCachedStringValues(otherAnno);
                 values.retainAll(otherValues);
                 break;
             case ValueAnnotatedTypeFactory.ARRAYLEN_NAME:
                 // Retain strings of correct lengths
-                List<Integer> otherLengths = ValueAnnotatedTypeFactory.getArrayLength(otherAnno);
+                List<Integer> otherLengths = atypeFactory.getCachedArrayLength(otherAnno);
                 ArrayList<String> result = new ArrayList<>();
                 for (String s : values) {
                     if (otherLengths.contains(s.length())) {
@@ -217,22 +217,22 @@ final class ValueQualifierHierarchy extends MultiGraphQualifierHierarchy {
                     Range range2 = ValueAnnotatedTypeFactory.getRange(a2);
                     return atypeFactory.createArrayLenRangeAnnotation(range1.union(range2));
                 case ValueAnnotatedTypeFactory.INTVAL_NAME:
-                    List<Long> a1Values = ValueAnnotatedTypeFactory.getIntValues(a1);
-                    List<Long> a2Values = ValueAnnotatedTypeFactory.getIntValues(a2);
+                    List<Long> a1Values = atypeFactory.getCachedIntValues(a1);
+                    List<Long> a2Values = atypeFactory.getCachedIntValues(a2);
                     List<Long> newValues = new ArrayList<>();
                     newValues.addAll(a1Values);
                     newValues.addAll(a2Values);
                     return atypeFactory.createIntValAnnotation(newValues);
                 case ValueAnnotatedTypeFactory.ARRAYLEN_NAME:
-                    List<Integer> al1Values = ValueAnnotatedTypeFactory.getArrayLength(a1);
-                    List<Integer> al2Values = ValueAnnotatedTypeFactory.getArrayLength(a2);
+                    List<Integer> al1Values = atypeFactory.getCachedArrayLength(a1);
+                    List<Integer> al2Values = atypeFactory.getCachedArrayLength(a2);
                     List<Integer> newValuesAL = new ArrayList<>();
                     newValuesAL.addAll(al1Values);
                     newValuesAL.addAll(al2Values);
                     return atypeFactory.createArrayLenAnnotation(newValuesAL);
                 case ValueAnnotatedTypeFactory.STRINGVAL_NAME:
-                    List<String> string1Values = ValueAnnotatedTypeFactory.getStringValues(a1);
-                    List<String> string2Values = ValueAnnotatedTypeFactory.getStringValues(a2);
+                    List<String> string1Values = atypeFactory.getCachedStringValues(a1);
+                    List<String> string2Values = atypeFactory.getCachedStringValues(a2);
                     List<String> newStringValues = new ArrayList<>();
                     newStringValues.addAll(string1Values);
                     newStringValues.addAll(string2Values);
@@ -407,10 +407,10 @@ final class ValueQualifierHierarchy extends MultiGraphQualifierHierarchy {
         }
         switch (superQual + subQual) {
             case ValueAnnotatedTypeFactory.DOUBLEVAL_NAME + ValueAnnotatedTypeFactory.INTVAL_NAME:
-                List<Double> superValues = ValueAnnotatedTypeFactory.getDoubleValues(superAnno);
+                List<Double> superValues = atypeFactory.getCachedDoubleValues(superAnno);
                 List<Double> subValues =
                         atypeFactory.convertLongListToDoubleList(
-                                ValueAnnotatedTypeFactory.getIntValues(subAnno));
+                                atypeFactory.getCachedIntValues(subAnno));
                 return superValues.containsAll(subValues);
             case ValueAnnotatedTypeFactory.INTRANGE_NAME + ValueAnnotatedTypeFactory.INTVAL_NAME:
             case ValueAnnotatedTypeFactory.ARRAYLENRANGE_NAME
@@ -424,8 +424,7 @@ final class ValueQualifierHierarchy extends MultiGraphQualifierHierarchy {
                 if (subRange.isWiderThan(ValueAnnotatedTypeFactory.MAX_VALUES)) {
                     return false;
                 }
-                List<Double> superDoubleValues =
-                        ValueAnnotatedTypeFactory.getDoubleValues(superAnno);
+                List<Double> superDoubleValues = atypeFactory.getCachedDoubleValues(superAnno);
                 List<Double> subDoubleValues =
                         ValueCheckerUtils.getValuesFromRange(subRange, Double.class);
                 return superDoubleValues.containsAll(subDoubleValues);
@@ -444,15 +443,14 @@ final class ValueQualifierHierarchy extends MultiGraphQualifierHierarchy {
             case ValueAnnotatedTypeFactory.STRINGVAL_NAME + ValueAnnotatedTypeFactory.ARRAYLEN_NAME:
 
                 // Allow @ArrayLen(0) to be converted to @StringVal("")
-                List<String> superStringValues =
-                        ValueAnnotatedTypeFactory.getStringValues(superAnno);
+                List<String> superStringValues = atypeFactory.getCachedStringValues(superAnno);
                 return superStringValues.contains("") && atypeFactory.getMaxLenValue(subAnno) == 0;
             case ValueAnnotatedTypeFactory.ARRAYLEN_NAME + ValueAnnotatedTypeFactory.STRINGVAL_NAME:
                 // StringVal is a subtype of ArrayLen, if all the strings have one of the
                 // correct
                 // lengths
-                List<Integer> superIntValues = ValueAnnotatedTypeFactory.getArrayLength(superAnno);
-                List<String> subStringValues = ValueAnnotatedTypeFactory.getStringValues(subAnno);
+                List<Integer> superIntValues = atypeFactory.getCachedArrayLength(superAnno);
+                List<String> subStringValues = atypeFactory.getCachedStringValues(subAnno);
                 for (String value : subStringValues) {
                     if (!superIntValues.contains(value.length())) {
                         return false;
@@ -465,7 +463,7 @@ final class ValueQualifierHierarchy extends MultiGraphQualifierHierarchy {
                 // the
                 // range.
                 Range superRange2 = ValueAnnotatedTypeFactory.getRange(superAnno);
-                List<String> subValues3 = ValueAnnotatedTypeFactory.getStringValues(subAnno);
+                List<String> subValues3 = atypeFactory.getCachedStringValues(subAnno);
                 for (String value : subValues3) {
                     if (!superRange2.contains(value.length())) {
                         return false;
@@ -156,7 +156,7 @@ public class ValueTransfer extends CFTransfer {
         }
         String annoName = AnnotationUtils.annotationName(anno);
         if (annoName.equals(ValueAnnotatedTypeFactory.ARRAYLEN_NAME)) {
-            return ValueAnnotatedTypeFactory.getArrayLength(anno);
+            return atypefactory.getCachedArrayLength(anno);
         } else if (annoName.equals(ValueAnnotatedTypeFactory.BOTTOMVAL_NAME)) {
             return new ArrayList<>();
         }
@@ -208,7 +208,7 @@ public class ValueTransfer extends CFTransfer {
             case ValueAnnotatedTypeFactory.BOTTOMVAL_NAME:
                 return new ArrayList<>();
             case ValueAnnotatedTypeFactory.STRINGVAL_NAME:
-                return ValueAnnotatedTypeFactory.getStringValues(anno);
+                return atypefactory.getCachedStringValues(anno);
             default:
                 // Do nothing.
         }
@@ -316,10 +316,10 @@ public class ValueTransfer extends CFTransfer {
         }
         List<? extends Number> values;
         if (AnnotationUtils.areSameByName(valueAnno, ValueAnnotatedTypeFactory.INTVAL_NAME)) {
-            values = ValueAnnotatedTypeFactory.getIntValues(valueAnno);
+            values = atypefactory.getCachedIntValues(valueAnno);
         } else if (AnnotationUtils.areSameByName(
                 valueAnno, ValueAnnotatedTypeFactory.DOUBLEVAL_NAME)) {
-            values = ValueAnnotatedTypeFactory.getDoubleValues(valueAnno);
+            values = atypefactory.getCachedDoubleValues(valueAnno);
         } else {
             return null;
         }
@@ -349,10 +349,10 @@ public class ValueTransfer extends CFTransfer {
         } else if (atypefactory.isIntRange(val)) {
             range = ValueAnnotatedTypeFactory.getRange(val);
         } else if (AnnotationUtils.areSameByName(val, ValueAnnotatedTypeFactory.INTVAL_NAME)) {
-            List<Long> values = ValueAnnotatedTypeFactory.getIntValues(val);
+            List<Long> values = atypefactory.getCachedIntValues(val);
             range = ValueCheckerUtils.getRangeFromValues(values);
         } else if (AnnotationUtils.areSameByName(val, ValueAnnotatedTypeFactory.DOUBLEVAL_NAME)) {
-            List<Double> values = ValueAnnotatedTypeFactory.getDoubleValues(val);
+            List<Double> values = atypefactory.getCachedDoubleValues(val);
             range = ValueCheckerUtils.getRangeFromValues(values);
         } else if (AnnotationUtils.areSameByName(val, ValueAnnotatedTypeFactory.BOTTOMVAL_NAME)) {
             return Range.NOTHING;
@@ -524,7 +524,7 @@ public class ValueTransfer extends CFTransfer {
             rolv = new RangeOrListOfValues(ValueAnnotatedTypeFactory.getRange(lengthAnno));
         } else if (AnnotationUtils.areSameByName(
                 lengthAnno, ValueAnnotatedTypeFactory.INTVAL_NAME)) {
-            List<Long> lengthValues = ValueAnnotatedTypeFactory.getIntValues(lengthAnno);
+            List<Long> lengthValues = atypefactory.getCachedIntValues(lengthAnno);
             rolv = new RangeOrListOfValues(RangeOrListOfValues.convertLongsToInts(lengthValues));
         } else {
             return;
@@ -135,7 +135,7 @@ class ValueTreeAnnotator extends TreeAnnotator {
                 rolv =
                         new RangeOrListOfValues(
                                 RangeOrListOfValues.convertLongsToInts(
-                                        ValueAnnotatedTypeFactory.getIntValues(dimType)));
+                                        atypeFactory.getCachedIntValues(dimType)));
             }
             if (rolv != null) {
                 AnnotationMirror newQual = rolv.createAnnotation(atypeFactory);
@@ -178,8 +178,7 @@ class ValueTreeAnnotator extends TreeAnnotator {
                 }
                 AnnotationMirror arrayLen = componentType.getAnnotation(ArrayLen.class);
                 if (arrayLen != null) {
-                    List<Integer> currentLengths =
-                            ValueAnnotatedTypeFactory.getArrayLength(arrayLen);
+                    List<Integer> currentLengths = atypeFactory.getCachedArrayLength(arrayLen);
                     if (rolv != null) {
                         rolv.addAll(currentLengths);
                     } else {
@@ -392,6 +391,24 @@ class ValueTreeAnnotator extends TreeAnnotator {
         return null;
     }
 
+    /**
+     * Returns the annotation for the result of a statically executable call that has too many
+     * combinations of argument values to be evaluated: the range of all values of an integral type,
+     * or {@code @UnknownVal} for other types.
+     *
+     * @param resultType the type of the call
+     * @return the annotation for a result that can be any value of {@code resultType}
+     */
+    private AnnotationMirror getUnevaluatedResultAnnotation(TypeMirror resultType) {
+        if (TypesUtils.isPrimitive(resultType) || TypesUtils.isBoxedPrimitive(resultType)) {
+            TypeKind kind = NumberUtils.unboxPrimitive(resultType);
+            if (NumberUtils.isPrimitiveIntegral(kind)) {
+                return atypeFactory.createIntRangeAnnotation(Range.create(kind));
+            }
+        }
+        return atypeFactory.UNKNOWNVAL;
+    }
+
     @Override
     public Void visitMethodInvocation(MethodInvocationTree tree, AnnotatedTypeMirror type) {
         if (type.hasAnnotation(atypeFactory.UNKNOWNVAL)) {
@@ -450,6 +467,12 @@ class ValueTreeAnnotator extends TreeAnnotator {
             receiverValues = null;
         }
 
+        int numReceivers = receiverValues == null ? 1 : receiverValues.size();
+        if (!atypeFactory.evaluator.isEvaluationFeasible(argValues, numReceivers)) {
+            type.replaceAnnotation(getUnevaluatedResultAnnotation(type.getUnderlyingType()));
+            return null;
+        }
+
         // Evaluate method
         List<?> returnValues =
                 atypeFactory.evaluator.evaluateMethodCall(argValues, receiverValues, tree);
@@ -488,6 +511,11 @@ class ValueTreeAnnotator extends TreeAnnotator {
             }
         }
 
+        if (!atypeFactory.evaluator.isEvaluationFeasible(argValues, 1)) {
+            type.replaceAnnotation(getUnevaluatedResultAnnotation(type.getUnderlyingType()));
+            return null;
+        }
+
         // Evaluate method
         List<?> returnValues =
                 atypeFactory.evaluator.evaluteConstructorCall(
@@ -69,12 +69,12 @@ class ValueTypeAnnotator extends TypeAnnotator {
         }
 
         if (AnnotationUtils.areSameByName(anno, ValueAnnotatedTypeFactory.INTVAL_NAME)) {
-            List<Long> values = ValueAnnotatedTypeFactory.getIntValues(anno);
+            List<Long> values = typeFactory.getCachedIntValues(anno);
             if (values.size() > ValueAnnotatedTypeFactory.MAX_VALUES) {
                 atm.replaceAnnotation(typeFactory.createIntRangeAnnotation(Range.create(values)));
             }
         } else if (AnnotationUtils.areSameByName(anno, ValueAnnotatedTypeFactory.ARRAYLEN_NAME)) {
-            List<Integer> values = ValueAnnotatedTypeFactory.getArrayLength(anno);
+            List<Integer> values = typeFactory.getCachedArrayLength(anno);
             if (values.isEmpty()) {
                 atm.replaceAnnotation(typeFactory.BOTTOMVAL);
             } else if (Collections.min(values) < 0) {
@@ -128,7 +128,7 @@ class ValueTypeAnnotator extends TypeAnnotator {
         } else if (AnnotationUtils.areSameByName(anno, ValueAnnotatedTypeFactory.STRINGVAL_NAME)) {
             // The annotation is StringVal. If there are too many elements,
             // ArrayLen or ArrayLenRange is used.
-            List<String> values = ValueAnnotatedTypeFactory.getStringValues(anno);
+            List<String> values = typeFactory.getCachedStringValues(anno);
 
             if (values.size() > ValueAnnotatedTypeFactory.MAX_VALUES) {
                 List<Integer> lengths = ValueCheckerUtils.getLengthsForStringValues(values);
@@ -207,7 +207,7 @@ public class ValueVisitor extends BaseTypeVisitor<ValueAnnotatedTypeFactory> {
                     return null;
                 } else if (AnnotationUtils.areSameByName(
                         anno, ValueAnnotatedTypeFactory.ARRAYLEN_NAME)) {
-                    List<Integer> arrayLens = ValueAnnotatedTypeFactory.getArrayLength(anno);
+                    List<Integer> arrayLens = atypeFactory.getCachedArrayLength(anno);
                     if (Collections.min(arrayLens) < 0) {
                         checker.reportWarning(
                                 node, "negative.arraylen", Collections.min(arrayLens));
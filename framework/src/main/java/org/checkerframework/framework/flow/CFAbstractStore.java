@@ -23,6 +23,7 @@ import org.checkerframework.framework.qual.MonotonicQualifier;
 import org.checkerframework.framework.type.AnnotatedTypeFactory;
 import org.checkerframework.framework.type.GenericAnnotatedTypeFactory;
 import org.checkerframework.framework.type.QualifierHierarchy;
+import org.checkerframework.framework.util.PurityInference;
 import org.checkerframework.javacutil.AnnotationBuilder;
 import org.checkerframework.javacutil.AnnotationUtils;
 import org.checkerframework.javacutil.BugInCF;
@@ -148,7 +149,8 @@ public abstract class CFAbstractStore<V extends CFAbstractValue<V>, S extends CF
      * current store is concerned.
      * In some cases, a store for a checker allows for other mechanisms to specify
      * whether a method is side-effect-free. For example, unannotated methods may
-     * be considered side-effect-free by default.
+     * be considered side-effect-free by default, or their purity may be inferred
+     * (see the -AinferPurity command-line option).
      *
      * @param atypeFactory     the type factory used to retrieve annotations on the method element
      * @param method           the method element
@@ -157,7 +159,12 @@ public abstract class CFAbstractStore<V extends CFAbstractValue<V>, S extends CF
      */
     protected boolean isSideEffectFree(
             AnnotatedTypeFactory atypeFactory, ExecutableElement method) {
-        return PurityUtils.isSideEffectFree(atypeFactory, method);
+        if (PurityUtils.isSideEffectFree(atypeFactory, method)) {
+            return true;
+        }
+        PurityInference purityInference =
+                ((GenericAnnotatedTypeFactory<?, ?, ?, ?>) atypeFactory).getPurityInference();
+        return purityInference != null && purityInference.isSideEffectFree(method);
     }
 
     /* --------------------------------------------------------- */
@@ -1008,6 +1015,19 @@ public abstract class CFAbstractStore<V extends CFAbstractValue<V>, S extends CF
         }
     }
 
+    /**
+     * Returns the number of expressions whose values this store contains.
+     *
+     * @return the number of expressions in this store
+     */
+    public int size() {
+        return localVariableValues.size()
+                + fieldValues.size()
+                + arrayValues.size()
+                + methodValues.size()
+                + classValues.size();
+    }
+
     @Override
     public int hashCode() {
         // What is a good hash code to use?
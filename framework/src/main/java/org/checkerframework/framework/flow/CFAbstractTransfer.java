@@ -516,7 +516,7 @@ public abstract class CFAbstractTransfer<
             CFGMethod method,
             MethodTree methodTree,
             ExecutableElement methodElement) {
-        ContractsUtils contracts = ContractsUtils.getInstance(analysis.atypeFactory);
+        ContractsUtils contracts = analysis.atypeFactory.getContractsUtils();
         FlowExpressionContext flowExprContext = null;
         Set<Precondition> preconditions = contracts.getPreconditions(methodElement);
 
@@ -1030,7 +1030,7 @@ public abstract class CFAbstractTransfer<
      */
     protected void processPostconditions(
             MethodInvocationNode n, S store, ExecutableElement methodElement, Tree tree) {
-        ContractsUtils contracts = ContractsUtils.getInstance(analysis.atypeFactory);
+        ContractsUtils contracts = analysis.atypeFactory.getContractsUtils();
         Set<Postcondition> postconditions = contracts.getPostconditions(methodElement);
         processPostconditionsAndConditionalPostconditions(n, tree, store, null, postconditions);
     }
@@ -1045,7 +1045,7 @@ public abstract class CFAbstractTransfer<
             Tree tree,
             S thenStore,
             S elseStore) {
-        ContractsUtils contracts = ContractsUtils.getInstance(analysis.atypeFactory);
+        ContractsUtils contracts = analysis.atypeFactory.getContractsUtils();
         Set<ConditionalPostcondition> conditionalPostconditions =
                 contracts.getConditionalPostconditions(methodElement);
         processPostconditionsAndConditionalPostconditions(
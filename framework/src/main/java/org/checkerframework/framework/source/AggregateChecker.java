@@ -5,6 +5,9 @@ import com.sun.tools.javac.processing.JavacProcessingEnvironment;
 import com.sun.tools.javac.util.Context;
 import com.sun.tools.javac.util.Log;
 
+import org.checkerframework.common.basetype.BaseTypeChecker;
+import org.checkerframework.framework.util.TreePathCacher;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -24,7 +27,8 @@ import javax.tools.Diagnostic.Kind;
  *
  * <p>There is no communication, interaction, or cooperation between the component checkers, even to
  * the extent of being able to read one another's qualifiers. An aggregate checker is merely
- * shorthand to invoke a sequence of checkers.
+ * shorthand to invoke a sequence of checkers. However, the component checkers share a {@link
+ * TreePathCacher}, so that the path to a tree is computed only once, not once per checker.
  *
  * <p>This class delegates {@code AbstractTypeProcessor} responsibilities to each component checker.
  *
@@ -35,6 +39,12 @@ public abstract class AggregateChecker extends SourceChecker {
 
     protected final List<SourceChecker> checkers;
 
+    /**
+     * The TreePathCacher shared by the component checkers. It is cleared when the compilation unit
+     * changes.
+     */
+    private final TreePathCacher treePathCacher = new TreePathCacher();
+
     /**
      * Returns the list of supported checkers to be run together. Subclasses need to override this
      * method.
@@ -50,6 +60,9 @@ public abstract class AggregateChecker extends SourceChecker {
             try {
                 SourceChecker instance = checkerClass.getDeclaredConstructor().newInstance();
                 instance.setParentChecker(this);
+                if (instance instanceof BaseTypeChecker) {
+                    ((BaseTypeChecker) instance).setTreePathCacher(treePathCacher);
+                }
                 checkers.add(instance);
             } catch (Exception e) {
                 message(Kind.ERROR, "Couldn't instantiate an instance of " + checkerClass);
@@ -77,6 +90,9 @@ public abstract class AggregateChecker extends SourceChecker {
         // super.initChecker();
         // To prevent the warning that initChecker wasn't called.
         messager = processingEnv.getMessager();
+        // The checkers record the entries for -AbaselineOutput in the baseline of their outermost
+        // checker, which writes them in typeProcessingOver.
+        baseline = Baseline.create(this);
 
         // first initialize all checkers
         for (SourceChecker checker : checkers) {
@@ -114,6 +130,11 @@ public abstract class AggregateChecker extends SourceChecker {
             // error was already output. Just quit.
             return;
         }
+        if (tree.getCompilationUnit() != currentRoot) {
+            // Do not call setRoot, because this checker has no visitor.
+            currentRoot = tree.getCompilationUnit();
+            treePathCacher.clear();
+        }
         for (SourceChecker checker : checkers) {
             checker.errsOnLastExit = this.errsOnLastExit;
             checker.typeProcess(element, tree);
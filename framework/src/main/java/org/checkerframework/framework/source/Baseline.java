@@ -0,0 +1,291 @@
+package org.checkerframework.framework.source;
+
+import com.sun.source.tree.CompilationUnitTree;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.javacutil.ElementUtils;
+import org.checkerframework.javacutil.UserError;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * A baseline of accepted diagnostics, given by the {@code -Abaseline} command-line option. A
+ * diagnostic that matches the baseline is neither formatted nor reported, so that a checker can be
+ * run on legacy code without filtering its output afterward.
+ *
+ * <p>Each line of a baseline file is an entry of the form
+ * <em>file</em>&lt;TAB&gt;<em>key</em>&lt;TAB&gt;<em>signature</em>; blank lines and lines that
+ * start with "#" are ignored. A diagnostic matches an entry if the path of its compilation unit
+ * ends with <em>file</em>, its message key is <em>key</em>, and the innermost class, method, or
+ * field that contains it has the signature <em>signature</em>. A signature is the qualified name of
+ * a class, optionally followed by "#" and the name of a field or the name and simple parameter
+ * types of a method or constructor, such as {@code mypackage.MyClass#m(String,int)}. A diagnostic
+ * in a local or anonymous class belongs to the enclosing member. If <em>key</em> is "*", all
+ * diagnostics of the class or method match, and the checker does not visit or analyze it at all.
+ *
+ * <p>If the {@code -AbaselineOutput} command-line option is supplied, the entries for all reported
+ * diagnostics that do not match the baseline are written to the file that it names when
+ * type-checking is over, so that a baseline can be created or extended.
+ */
+class Baseline {
+
+    /** The key of an entry that matches all diagnostics. */
+    static final String ALL_KEYS = "*";
+
+    /** The checker whose diagnostics are filtered. */
+    private final SourceChecker checker;
+
+    /**
+     * Maps the key and signature of each entry, separated by a tab, to the files of the entries.
+     */
+    private final Map<String, List<String>> entries = new HashMap<>();
+
+    /** The file to which new entries are written, or null. */
+    private final @Nullable String outputFile;
+
+    /** The entries for reported diagnostics, to be written to {@link #outputFile}. */
+    private final Set<String> newEntries = new TreeSet<>();
+
+    /** The number of diagnostics that matched the baseline. */
+    private int matched = 0;
+
+    /** The compilation unit whose path is {@link #lastPath}. */
+    private @Nullable CompilationUnitTree lastRoot;
+
+    /** The path of {@link #lastRoot}, with '/' as separator. */
+    private String lastPath = "";
+
+    /**
+     * Creates a Baseline for the files given on the command line.
+     *
+     * @param checker the checker whose diagnostics are filtered
+     */
+    private Baseline(SourceChecker checker) {
+        this.checker = checker;
+        this.outputFile = checker.getOption("baselineOutput");
+        String baselineFile = checker.getOption("baseline");
+        if (baselineFile != null) {
+            read(baselineFile);
+        }
+    }
+
+    /**
+     * Returns a Baseline for {@code checker}, or null if neither {@code -Abaseline} nor {@code
+     * -AbaselineOutput} is given on the command line.
+     *
+     * @param checker a checker
+     * @return a Baseline for {@code checker}, or null
+     */
+    static @Nullable Baseline create(SourceChecker checker) {
+        if (!checker.hasOption("baseline") && !checker.hasOption("baselineOutput")) {
+            return null;
+        }
+        return new Baseline(checker);
+    }
+
+    /**
+     * Reads the entries of a baseline file into {@link #entries}.
+     *
+     * @param baselineFile the name of the baseline file
+     */
+    private void read(String baselineFile) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(Paths.get(baselineFile), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UserError("Cannot read baseline file " + baselineFile + ": " + e);
+        }
+        for (String line : lines) {
+            if (line.trim().isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t", -1);
+            if (fields.length != 3) {
+                throw new UserError(
+                        "Baseline entry is not of the form file<TAB>key<TAB>signature: " + line);
+            }
+            String file = fields[0].replace('\\', '/');
+            entries.computeIfAbsent(fields[1] + "\t" + fields[2], k -> new ArrayList<>()).add(file);
+        }
+    }
+
+    /**
+     * Returns true if a diagnostic matches the baseline. Otherwise, records its entry for {@code
+     * -AbaselineOutput}.
+     *
+     * @param root the compilation unit of the diagnostic
+     * @param messageKey the message key of the diagnostic
+     * @param declaration the innermost declaration that contains the diagnostic, or null
+     * @return true if the diagnostic should not be reported
+     */
+    boolean matches(CompilationUnitTree root, String messageKey, @Nullable Element declaration) {
+        String signature = getSignature(declaration);
+        if (matches(root, messageKey, signature) || matches(root, ALL_KEYS, signature)) {
+            matched++;
+            return true;
+        }
+        if (outputFile != null) {
+            getOutputBaseline()
+                    .newEntries
+                    .add(getPath(root) + "\t" + messageKey + "\t" + signature);
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the baseline accepts all diagnostics of a class or method, so that it need
+     * not be checked.
+     *
+     * @param root the compilation unit of the class or method
+     * @param declaration the class or method
+     * @return true if the baseline has an entry with key "*" for {@code declaration}
+     */
+    boolean matchesAll(CompilationUnitTree root, @Nullable Element declaration) {
+        return !entries.isEmpty() && matches(root, ALL_KEYS, getSignature(declaration));
+    }
+
+    /**
+     * Returns true if the baseline has an entry with the given key and signature, for the file of
+     * {@code root}.
+     *
+     * @param root a compilation unit
+     * @param messageKey a message key, or "*"
+     * @param signature a signature
+     * @return true if the baseline has a matching entry
+     */
+    private boolean matches(CompilationUnitTree root, String messageKey, String signature) {
+        List<String> files = entries.get(messageKey + "\t" + signature);
+        if (files == null) {
+            return false;
+        }
+        String path = getPath(root);
+        for (String file : files) {
+            if (path.equals(file) || path.endsWith("/" + file)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the path of a compilation unit, relative to the working directory if possible so that
+     * a baseline can be used in different checkouts.
+     *
+     * @param root a compilation unit
+     * @return the path of {@code root}, with '/' as separator
+     */
+    private String getPath(CompilationUnitTree root) {
+        if (root != lastRoot) {
+            String path = root.getSourceFile().getName();
+            String workingDirectory = System.getProperty("user.dir") + File.separator;
+            if (path.startsWith(workingDirectory)) {
+                path = path.substring(workingDirectory.length());
+            }
+            lastPath = path.replace('\\', '/');
+            lastRoot = root;
+        }
+        return lastPath;
+    }
+
+    /**
+     * Returns the signature of the innermost class, method, or field that contains {@code element},
+     * as described in the class documentation.
+     *
+     * @param element an element, or null
+     * @return the signature of {@code element}, or the empty string if it is null or not in a class
+     */
+    private static String getSignature(@Nullable Element element) {
+        while (element != null) {
+            switch (element.getKind()) {
+                case METHOD:
+                case CONSTRUCTOR:
+                case FIELD:
+                case ENUM_CONSTANT:
+                    Element enclosing = element.getEnclosingElement();
+                    if (isNamedClass(enclosing)) {
+                        String member =
+                                element instanceof ExecutableElement
+                                        ? ElementUtils.getSimpleName((ExecutableElement) element)
+                                        : element.getSimpleName().toString();
+                        return ((TypeElement) enclosing).getQualifiedName() + "#" + member;
+                    }
+                    element = enclosing;
+                    break;
+                case PACKAGE:
+                    return ((PackageElement) element).getQualifiedName().toString();
+                default:
+                    if (isNamedClass(element)) {
+                        return ((TypeElement) element).getQualifiedName().toString();
+                    }
+                    element = element.getEnclosingElement();
+                    break;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Returns true if {@code element} is a class that is neither local nor anonymous.
+     *
+     * @param element an element
+     * @return true if {@code element} is a class with a qualified name
+     */
+    private static boolean isNamedClass(@Nullable Element element) {
+        return element != null
+                && ElementUtils.isClassElement(element)
+                && ((TypeElement) element).getQualifiedName().length() != 0;
+    }
+
+    /**
+     * Returns the Baseline that collects the new entries of all checkers in this compilation: the
+     * one of the outermost checker, which writes them.
+     *
+     * @return the Baseline that collects new entries
+     */
+    private Baseline getOutputBaseline() {
+        SourceChecker root = checker;
+        while (root.getParentChecker() != null) {
+            root = root.getParentChecker();
+        }
+        Baseline rootBaseline = root.getBaseline();
+        return rootBaseline == null ? this : rootBaseline;
+    }
+
+    /**
+     * Reports how many diagnostics matched the baseline, and writes the new entries if this is the
+     * outermost checker.
+     */
+    void typeProcessingOver() {
+        if (matched != 0) {
+            checker.message(
+                    Kind.NOTE,
+                    "%s: %d diagnostics matched the baseline",
+                    checker.getClass().getSimpleName(),
+                    matched);
+        }
+        if (outputFile == null || checker.getParentChecker() != null) {
+            return;
+        }
+        try {
+            Files.write(Paths.get(outputFile), newEntries, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            checker.message(Kind.ERROR, "Cannot write baseline file %s: %s", outputFile, e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.checkerframework.framework.source;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.javacutil.UserError;
+
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * Stops type-checking a class, or the whole compilation, after a checker has issued a given number
+ * of errors. Used when the {@code -AmaxErrorsPerClass} or {@code -AmaxErrors} command-line option
+ * is supplied. Unlike javac's {@code -Xmaxerrs}, which only limits the number of errors that are
+ * printed, these options save the work of finding the remaining errors, which is useful when
+ * running a new checker on a large code base for the first time.
+ *
+ * <p>Errors are counted before {@code -Awarns} turns them into warnings, and suppressed errors are
+ * not counted. Once a class reaches the limit, the visitor does not visit the rest of it. Once the
+ * compilation reaches the limit, the remaining classes are neither analyzed nor visited. The number
+ * of classes that were not checked completely is reported when type-checking is over.
+ */
+class ErrorLimit {
+
+    /** The checker whose errors are counted. */
+    private final SourceChecker checker;
+
+    /** The maximum number of errors in one class. */
+    private final int maxErrorsPerClass;
+
+    /** The maximum number of errors in the compilation. */
+    private final int maxErrors;
+
+    /** The number of errors in the compilation so far. */
+    private int errors = 0;
+
+    /** The number of errors in the current class so far. */
+    private int classErrors = 0;
+
+    /** The number of classes whose checking was stopped when the limit was reached. */
+    private int stoppedClasses = 0;
+
+    /** The number of classes that were not checked because the compilation reached its limit. */
+    private int skippedClasses = 0;
+
+    /**
+     * Creates an ErrorLimit for the limits given on the command line.
+     *
+     * @param checker the checker whose errors are counted
+     */
+    private ErrorLimit(SourceChecker checker) {
+        this.checker = checker;
+        this.maxErrorsPerClass = getLimit(checker, "maxErrorsPerClass");
+        this.maxErrors = getLimit(checker, "maxErrors");
+    }
+
+    /**
+     * Returns an ErrorLimit for {@code checker}, or null if neither limit is given on the command
+     * line.
+     *
+     * @param checker a checker
+     * @return an ErrorLimit for {@code checker}, or null
+     */
+    static @Nullable ErrorLimit create(SourceChecker checker) {
+        if (!checker.hasOption("maxErrorsPerClass") && !checker.hasOption("maxErrors")) {
+            return null;
+        }
+        return new ErrorLimit(checker);
+    }
+
+    /**
+     * Returns the value of a limit option.
+     *
+     * @param checker the checker
+     * @param option the name of the option
+     * @return the limit, or {@link Integer#MAX_VALUE} if the option is not given
+     */
+    private static int getLimit(SourceChecker checker, String option) {
+        String value = checker.getOption(option);
+        if (value == null) {
+            return Integer.MAX_VALUE;
+        }
+        int limit;
+        try {
+            limit = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new UserError(option + " was not an integer: " + value);
+        }
+        if (limit <= 0) {
+            throw new UserError(option + " was not positive: " + value);
+        }
+        return limit;
+    }
+
+    /**
+     * Called before a class is type-checked.
+     *
+     * @return false if the class should not be type-checked because the compilation has reached its
+     *     limit
+     */
+    boolean startClass() {
+        classErrors = 0;
+        if (errors >= maxErrors) {
+            skippedClasses++;
+            return false;
+        }
+        return true;
+    }
+
+    /** Called after a class is type-checked. */
+    void endClass() {
+        if (isReached()) {
+            stoppedClasses++;
+        }
+    }
+
+    /** Called when the checker issues an error. */
+    void errorReported() {
+        errors++;
+        classErrors++;
+    }
+
+    /**
+     * Returns true if the current class or the compilation has reached its limit.
+     *
+     * @return true if the checker should not look for more errors in the current class
+     */
+    boolean isReached() {
+        return classErrors >= maxErrorsPerClass || errors >= maxErrors;
+    }
+
+    /** Reports how many classes were not checked completely. */
+    void printSummary() {
+        if (stoppedClasses == 0 && skippedClasses == 0) {
+            return;
+        }
+        checker.message(
+                Kind.NOTE,
+                "%s: stopped checking %d classes and skipped %d classes after reaching the error"
+                        + " limit; %d errors were issued",
+                checker.getClass().getSimpleName(),
+                stoppedClasses,
+                skippedClasses,
+                errors);
+    }
+}
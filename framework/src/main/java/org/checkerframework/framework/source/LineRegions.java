@@ -0,0 +1,202 @@
+package org.checkerframework.framework.source;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.LineMap;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.SourcePositions;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.javacutil.UserError;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.Diagnostic;
+
+/**
+ * The regions of the source files that are checked when the {@code -AonlyLines} command-line option
+ * is supplied, such as the lines that a change modifies.
+ *
+ * <p>The value of the option is a comma-separated list of regions of the form
+ * <em>file</em>:<em>line</em> or <em>file</em>:<em>first</em>-<em>last</em>, such as {@code
+ * src/Foo.java:10-25,src/Bar.java:7}. Lines are numbered from 1, and a range includes both of its
+ * ends. A region applies to each compilation unit whose path ends with <em>file</em>, so paths
+ * relative to the root of a repository, as printed by {@code git diff}, can be used. If the value
+ * starts with "@", the regions are instead read from the named file, separated by commas or line
+ * breaks.
+ *
+ * <p>A class or method is checked, and the dataflow analysis of a method is performed, only if one
+ * of its lines is in a region. Field initializers and initializer blocks of a checked class are
+ * always analyzed, because the analysis of its constructors depends on them. A compilation unit
+ * without regions is not checked at all.
+ */
+class LineRegions {
+
+    /** A range of lines. */
+    private static class LineRange {
+        /** The first line of the range, numbered from 1. */
+        final long first;
+
+        /** The last line of the range, inclusive. */
+        final long last;
+
+        /**
+         * Creates a LineRange.
+         *
+         * @param first the first line of the range
+         * @param last the last line of the range, inclusive
+         */
+        LineRange(long first, long last) {
+            this.first = first;
+            this.last = last;
+        }
+    }
+
+    /** Maps each file given on the command line, with '/' as separator, to its ranges. */
+    private final Map<String, List<LineRange>> regions = new LinkedHashMap<>();
+
+    /** Used to compute the lines of a tree. */
+    private final SourcePositions positions;
+
+    /** The compilation unit whose ranges are in {@link #rootRanges}. */
+    private @Nullable CompilationUnitTree lastRoot;
+
+    /** The ranges that apply to {@link #lastRoot}. */
+    private List<LineRange> rootRanges = new ArrayList<>();
+
+    /**
+     * Creates a LineRegions for the value of the {@code -AonlyLines} option.
+     *
+     * @param checker the checker
+     * @param value the value of the option
+     */
+    private LineRegions(SourceChecker checker, String value) {
+        this.positions = checker.getTreeUtils().getSourcePositions();
+        if (value.startsWith("@")) {
+            String fileName = value.substring(1);
+            try {
+                value = new String(Files.readAllBytes(Paths.get(fileName)), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UserError("Cannot read onlyLines file " + fileName + ": " + e);
+            }
+        }
+        for (String region : value.split("[,\\r\\n]")) {
+            region = region.trim();
+            if (!region.isEmpty()) {
+                addRegion(region);
+            }
+        }
+    }
+
+    /**
+     * Returns a LineRegions for {@code checker}, or null if the {@code -AonlyLines} option is not
+     * given on the command line.
+     *
+     * @param checker a checker
+     * @return a LineRegions for {@code checker}, or null
+     */
+    static @Nullable LineRegions create(SourceChecker checker) {
+        String value = checker.getOption("onlyLines");
+        if (value == null) {
+            return null;
+        }
+        return new LineRegions(checker, value);
+    }
+
+    /**
+     * Parses one region and adds it to {@link #regions}.
+     *
+     * @param region a region of the form <em>file</em>:<em>line</em> or
+     *     <em>file</em>:<em>first</em>-<em>last</em>
+     */
+    private void addRegion(String region) {
+        // The file name may contain a colon, for example in a Windows drive letter.
+        int colon = region.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new UserError(
+                    "onlyLines region is not of the form file:line or file:first-last: " + region);
+        }
+        String file = region.substring(0, colon).replace('\\', '/');
+        if (file.startsWith("./")) {
+            file = file.substring(2);
+        }
+        String lines = region.substring(colon + 1);
+        int dash = lines.indexOf('-');
+        LineRange range;
+        try {
+            if (dash == -1) {
+                long line = Long.parseLong(lines.trim());
+                range = new LineRange(line, line);
+            } else {
+                range =
+                        new LineRange(
+                                Long.parseLong(lines.substring(0, dash).trim()),
+                                Long.parseLong(lines.substring(dash + 1).trim()));
+            }
+        } catch (NumberFormatException e) {
+            throw new UserError(
+                    "onlyLines region is not of the form file:line or file:first-last: " + region);
+        }
+        regions.computeIfAbsent(file, f -> new ArrayList<>()).add(range);
+    }
+
+    /**
+     * Returns true if one of the lines of {@code tree} is in a region.
+     *
+     * @param root the compilation unit that contains {@code tree}
+     * @param tree a class or method declaration
+     * @return true if {@code tree} should be checked
+     */
+    boolean intersects(CompilationUnitTree root, Tree tree) {
+        List<LineRange> ranges = getRanges(root);
+        if (ranges.isEmpty()) {
+            return false;
+        }
+        long start = positions.getStartPosition(root, tree);
+        long end = positions.getEndPosition(root, tree);
+        if (start == Diagnostic.NOPOS || end == Diagnostic.NOPOS) {
+            // A tree without a position, such as a default constructor, is checked with its class.
+            return true;
+        }
+        LineMap lineMap = root.getLineMap();
+        long first = lineMap.getLineNumber(start);
+        long last = lineMap.getLineNumber(end);
+        for (LineRange range : ranges) {
+            if (range.first <= last && first <= range.last) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the ranges that apply to {@code root}.
+     *
+     * @param root a compilation unit
+     * @return the ranges of all regions whose file matches the path of {@code root}
+     */
+    private List<LineRange> getRanges(CompilationUnitTree root) {
+        if (root == lastRoot) {
+            return rootRanges;
+        }
+        String path = root.getSourceFile().toUri().getPath();
+        List<LineRange> ranges = new ArrayList<>();
+        if (path != null) {
+            for (Map.Entry<String, List<LineRange>> entry : regions.entrySet()) {
+                String file = entry.getKey();
+                if (path.equals(file) || path.endsWith("/" + file)) {
+                    ranges.addAll(entry.getValue());
+                }
+            }
+        }
+        lastRoot = root;
+        rootRanges = ranges;
+        return ranges;
+    }
+}
@@ -0,0 +1,186 @@
+package org.checkerframework.framework.source;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.Tree;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.javacutil.UserError;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * Reports the classes and methods that a checker takes a long time to check, so that their authors
+ * can simplify or annotate them. Used when the {@code -AslowClassThreshold} or {@code
+ * -AslowMethodThreshold} command-line option is supplied; their values are in milliseconds.
+ *
+ * <p>A class is timed from the start to the end of {@link SourceChecker#typeProcess}, which
+ * includes the dataflow analysis of its methods. A method, lambda, or initializer is timed while
+ * its control flow graph is built and its dataflow analysis runs to a fixpoint. Each element that
+ * exceeds its threshold is reported with a note at its declaration, and all of them are listed,
+ * slowest first, when type-checking is over.
+ */
+public class SlowCodeReporter {
+
+    /** A class or method that exceeded its threshold. */
+    private static class SlowCode {
+        /** The description of the class or method, as reported. */
+        final String description;
+
+        /** The time spent on it, in nanoseconds. */
+        final long nanos;
+
+        /**
+         * Creates a SlowCode.
+         *
+         * @param description the description of the class or method
+         * @param nanos the time spent on it, in nanoseconds
+         */
+        SlowCode(String description, long nanos) {
+            this.description = description;
+            this.nanos = nanos;
+        }
+    }
+
+    /** The checker whose time is measured. */
+    private final SourceChecker checker;
+
+    /** The threshold for classes, in nanoseconds. */
+    private final long classThresholdNanos;
+
+    /** The threshold for methods, in nanoseconds. */
+    private final long methodThresholdNanos;
+
+    /** The classes and methods that exceeded their thresholds. */
+    private final List<SlowCode> slowCode = new ArrayList<>();
+
+    /**
+     * Creates a SlowCodeReporter for the thresholds given on the command line.
+     *
+     * @param checker the checker whose time is measured
+     */
+    private SlowCodeReporter(SourceChecker checker) {
+        this.checker = checker;
+        this.classThresholdNanos = getThresholdNanos(checker, "slowClassThreshold");
+        this.methodThresholdNanos = getThresholdNanos(checker, "slowMethodThreshold");
+    }
+
+    /**
+     * Returns a SlowCodeReporter for {@code checker}, or null if neither threshold is given on the
+     * command line.
+     *
+     * @param checker a checker
+     * @return a SlowCodeReporter for {@code checker}, or null
+     */
+    static @Nullable SlowCodeReporter create(SourceChecker checker) {
+        if (!checker.hasOption("slowClassThreshold") && !checker.hasOption("slowMethodThreshold")) {
+            return null;
+        }
+        return new SlowCodeReporter(checker);
+    }
+
+    /**
+     * Returns the value of a threshold option, in nanoseconds.
+     *
+     * @param checker the checker
+     * @param option the name of the option, whose value is in milliseconds
+     * @return the threshold, or {@link Long#MAX_VALUE} if the option is not given
+     */
+    private static long getThresholdNanos(SourceChecker checker, String option) {
+        String value = checker.getOption(option);
+        if (value == null) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return TimeUnit.MILLISECONDS.toNanos(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            throw new UserError(option + " was not an integer: " + value);
+        }
+    }
+
+    /**
+     * Records the time spent checking a class, and reports it if it exceeds the threshold.
+     *
+     * @param tree the declaration of the class
+     * @param root the compilation unit that contains {@code tree}
+     * @param name the name of the class
+     * @param nanos the time spent checking the class, in nanoseconds
+     */
+    public void classChecked(Tree tree, CompilationUnitTree root, String name, long nanos) {
+        if (nanos >= classThresholdNanos) {
+            report(tree, root, String.format("class %s took %d ms", name, toMillis(nanos)), nanos);
+        }
+    }
+
+    /**
+     * Records the time spent analyzing a method, and reports it if it exceeds the threshold.
+     *
+     * @param tree the method, lambda, or initializer
+     * @param root the compilation unit that contains {@code tree}
+     * @param name the name of the method
+     * @param nanos the time spent building the control flow graph and analyzing it, in nanoseconds
+     * @param blocksAnalyzed the number of times a block was analyzed before a fixpoint was reached
+     * @param storeSize the number of expressions in the store at the exit of the method
+     */
+    public void methodAnalyzed(
+            Tree tree,
+            CompilationUnitTree root,
+            String name,
+            long nanos,
+            int blocksAnalyzed,
+            int storeSize) {
+        if (nanos >= methodThresholdNanos) {
+            report(
+                    tree,
+                    root,
+                    String.format(
+                            "dataflow analysis of %s took %d ms (%d blocks analyzed, %d"
+                                    + " expressions in exit store)",
+                            name, toMillis(nanos), blocksAnalyzed, storeSize),
+                    nanos);
+        }
+    }
+
+    /**
+     * Issues a note at {@code tree} and records it for the summary.
+     *
+     * @param tree where to issue the note
+     * @param root the compilation unit that contains {@code tree}
+     * @param description the description of the slow code
+     * @param nanos the time spent on the code, in nanoseconds
+     */
+    private void report(Tree tree, CompilationUnitTree root, String description, long nanos) {
+        String message = "[" + checker.getClass().getSimpleName() + "] " + description;
+        checker.getTreeUtils().printMessage(Kind.NOTE, message, tree, root);
+        slowCode.add(new SlowCode(root.getSourceFile().getName() + ": " + description, nanos));
+    }
+
+    /** Lists the classes and methods that exceeded their thresholds, slowest first. */
+    public void printSummary() {
+        if (slowCode.isEmpty()) {
+            return;
+        }
+        slowCode.sort(Comparator.comparingLong((SlowCode code) -> code.nanos).reversed());
+        StringBuilder summary = new StringBuilder();
+        summary.append(checker.getClass().getSimpleName());
+        summary.append(": slowest classes and methods:");
+        for (SlowCode code : slowCode) {
+            summary.append(System.lineSeparator()).append("  ").append(code.description);
+        }
+        checker.message(Kind.NOTE, "%s", summary);
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds.
+     *
+     * @param nanos a duration in nanoseconds
+     * @return the duration in milliseconds
+     */
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
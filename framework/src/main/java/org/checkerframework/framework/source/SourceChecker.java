@@ -8,6 +8,7 @@ import com.sun.source.tree.Tree;
 import com.sun.source.tree.VariableTree;
 import com.sun.source.util.SourcePositions;
 import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
 import com.sun.source.util.Trees;
 import com.sun.tools.javac.code.Source;
 import com.sun.tools.javac.processing.JavacProcessingEnvironment;
@@ -23,6 +24,7 @@ import org.checkerframework.framework.qual.AnnotatedFor;
 import org.checkerframework.framework.type.AnnotatedTypeFactory;
 import org.checkerframework.framework.util.CFContext;
 import org.checkerframework.framework.util.CheckerMain;
+import org.checkerframework.framework.util.FlightRecorderEvent;
 import org.checkerframework.framework.util.OptionConfiguration;
 import org.checkerframework.javacutil.AbstractTypeProcessor;
 import org.checkerframework.javacutil.AnnotationProvider;
@@ -50,6 +52,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableSet;
@@ -109,6 +112,17 @@ import javax.tools.Diagnostic.Kind;
     "skipDefs",
     "onlyDefs",
 
+    // Check only the classes and methods that overlap the given lines of the given files, such as
+    // the lines modified by a change
+    // org.checkerframework.framework.source.LineRegions
+    "onlyLines",
+
+    // Do not report diagnostics that are in the given baseline file, and write the entries of the
+    // reported diagnostics to another file
+    // org.checkerframework.framework.source.Baseline
+    "baseline",
+    "baselineOutput",
+
     // Unsoundly assume all methods have no side effects, are deterministic, or both.
     "assumeSideEffectFree",
     "assumeDeterministic",
@@ -248,6 +262,30 @@ import javax.tools.Diagnostic.Kind;
     // Already listed above, but worth noting again in this section:
     // "useConservativeDefaultsForUncheckedCode"
 
+    ///
+    /// Performance
+    ///
+
+    // Analyze lambdas and nested classes only when a type inside them is first needed
+    // org.checkerframework.framework.type.GenericAnnotatedTypeFactory.checkAndPerformDeferredFlowAnalysis
+    "lazyFlowAnalysis",
+
+    // Infer whether unannotated methods that cannot be overridden are side-effect-free, so that
+    // calls to them do not discard refined types of fields
+    // org.checkerframework.framework.util.PurityInference
+    "inferPurity",
+
+    // Report each class or method whose checking takes longer than the given number of
+    // milliseconds, and list them all at the end
+    // org.checkerframework.framework.source.SlowCodeReporter
+    "slowClassThreshold",
+    "slowMethodThreshold",
+
+    // Stop checking a class, or the whole compilation, after the given number of errors
+    // org.checkerframework.framework.source.ErrorLimit
+    "maxErrorsPerClass",
+    "maxErrors",
+
     ///
     /// Debugging
     ///
@@ -412,12 +450,52 @@ public abstract class SourceChecker extends AbstractTypeProcessor
     /** The visitor to use. */
     protected SourceVisitor<?, ?> visitor;
 
+    /**
+     * Reports slow classes and methods, or null if neither {@code -AslowClassThreshold} nor {@code
+     * -AslowMethodThreshold} is supplied.
+     */
+    private @Nullable SlowCodeReporter slowCodeReporter;
+
+    /**
+     * The regions of the source files that are checked, or null if the {@code -AonlyLines} option
+     * is not supplied.
+     */
+    private @Nullable LineRegions lineRegions;
+
+    /**
+     * Limits the number of errors, or null if neither {@code -AmaxErrorsPerClass} nor {@code
+     * -AmaxErrors} is supplied.
+     */
+    private @Nullable ErrorLimit errorLimit;
+
+    /**
+     * The baseline of accepted diagnostics, or null if neither {@code -Abaseline} nor {@code
+     * -AbaselineOutput} is supplied. Package-private so that an {@link AggregateChecker}, which
+     * does not call {@code super.initChecker()}, can create the one that writes the new entries of
+     * its checkers.
+     */
+    /*package-private*/ @Nullable Baseline baseline;
+
     /**
      * SuppressWarnings strings supplied via the -AsuppressWarnings option. Do not use directly,
      * call {@link #getSuppressWarningsStringsFromOption()}.
      */
     private String @Nullable [] suppressWarningsStringsFromOption;
 
+    /**
+     * Maps each tree in {@link #currentRoot} to the declarations that determine whether warnings
+     * about it are suppressed. Null until a warning in the current compilation unit is checked for
+     * suppression. Do not use directly, call {@link #getSuppressionScope(Tree)}.
+     */
+    private @Nullable Map<Tree, SuppressionScope> suppressionScopes;
+
+    /**
+     * Maps an element to the lowercased strings of its {@code @SuppressWarnings} annotation, or to
+     * a zero-length array if it has none. Cleared when the compilation unit changes. Do not use
+     * directly, call {@link #getSuppressWarningsStrings(Element)}.
+     */
+    private final Map<Element, String[]> suppressWarningsStringsCache = new HashMap<>();
+
     /**
      * Regular expression pattern to specify Java classes that are not annotated, so warnings about
      * uses of them should be suppressed.
@@ -564,6 +642,8 @@ public abstract class SourceChecker extends AbstractTypeProcessor
      */
     protected void setRoot(CompilationUnitTree newRoot) {
         this.currentRoot = newRoot;
+        this.suppressionScopes = null;
+        this.suppressWarningsStringsCache.clear();
         visitor.setRoot(currentRoot);
     }
 
@@ -625,6 +705,27 @@ public abstract class SourceChecker extends AbstractTypeProcessor
         return this.visitor;
     }
 
+    /**
+     * Returns the reporter of slow classes and methods.
+     *
+     * @return the reporter of slow classes and methods, or null if the {@code -AslowClassThreshold}
+     *     and {@code -AslowMethodThreshold} options are not supplied
+     */
+    public @Nullable SlowCodeReporter getSlowCodeReporter() {
+        return slowCodeReporter;
+    }
+
+    /**
+     * Returns the baseline of accepted diagnostics.
+     *
+     * @return the baseline, or null if the {@code -Abaseline} and {@code -AbaselineOutput} options
+     *     are not supplied
+     */
+    /*package-private*/ @Nullable
+    Baseline getBaseline() {
+        return baseline;
+    }
+
     /**
      * Provides the {@link SourceVisitor} that the checker should use to scan input source trees.
      *
@@ -810,6 +911,11 @@ public abstract class SourceChecker extends AbstractTypeProcessor
 
         this.visitor = createSourceVisitor();
 
+        this.slowCodeReporter = SlowCodeReporter.create(this);
+        this.lineRegions = LineRegions.create(this);
+        this.errorLimit = ErrorLimit.create(this);
+        this.baseline = Baseline.create(this);
+
         // Validate the lint flags, if they haven't been used already.
         if (this.activeLints == null) {
             this.activeLints = createActiveLints(getOptions());
@@ -895,7 +1001,13 @@ public abstract class SourceChecker extends AbstractTypeProcessor
             }
         }
 
+        if (errorLimit != null && !errorLimit.startClass()) {
+            return;
+        }
+
         // Visit the attributed tree.
+        Object event = FlightRecorderEvent.CHECK_CLASS.begin();
+        long startNanos = slowCodeReporter == null ? 0 : System.nanoTime();
         try {
             visitor.visit(p);
             warnUnneededSuppressions();
@@ -909,9 +1021,37 @@ public abstract class SourceChecker extends AbstractTypeProcessor
             // Also add possibly deferred diagnostics, which will get published back in
             // AbstractTypeProcessor.
             this.errsOnLastExit = log.nerrors;
+            if (errorLimit != null) {
+                errorLimit.endClass();
+            }
+            if (event != null) {
+                FlightRecorderEvent.CHECK_CLASS.commit(
+                        event, getClass().getSimpleName(), e.getQualifiedName().toString());
+            }
+            if (slowCodeReporter != null) {
+                slowCodeReporter.classChecked(
+                        p.getLeaf(),
+                        p.getCompilationUnit(),
+                        e.getQualifiedName().toString(),
+                        System.nanoTime() - startNanos);
+            }
         }
     }
 
+    @Override
+    public void typeProcessingOver() {
+        if (slowCodeReporter != null) {
+            slowCodeReporter.printSummary();
+        }
+        if (errorLimit != null) {
+            errorLimit.printSummary();
+        }
+        if (baseline != null) {
+            baseline.typeProcessingOver();
+        }
+        super.typeProcessingOver();
+    }
+
     ///////////////////////////////////////////////////////////////////////////
     /// Reporting type-checking errors; most clients use reportError() or reportWarning()
     ///
@@ -972,6 +1112,12 @@ public abstract class SourceChecker extends AbstractTypeProcessor
             return;
         }
 
+        // Check the baseline before formatting the message, which is relatively expensive.
+        if (baseline != null
+                && baseline.matches(currentRoot, messageKey, getEnclosingDeclaration(source))) {
+            return;
+        }
+
         if (args != null) {
             for (int i = 0; i < args.length; ++i) {
                 args[i] = processArg(args[i]);
@@ -1011,8 +1157,13 @@ public abstract class SourceChecker extends AbstractTypeProcessor
                     e);
         }
 
-        if (kind == Kind.ERROR && hasOption("warns")) {
-            kind = Kind.MANDATORY_WARNING;
+        if (kind == Kind.ERROR) {
+            if (errorLimit != null) {
+                errorLimit.errorReported();
+            }
+            if (hasOption("warns")) {
+                kind = Kind.MANDATORY_WARNING;
+            }
         }
 
         if (source instanceof Element) {
@@ -1891,15 +2042,14 @@ public abstract class SourceChecker extends AbstractTypeProcessor
                             + " correctly.");
         }
 
-        // trees.getPath might be slow, but this is only used in error reporting
-        @Nullable TreePath path = trees.getPath(this.currentRoot, tree);
+        SuppressionScope scope = getSuppressionScope(tree);
 
-        @Nullable VariableTree var = TreeUtils.enclosingVariable(path);
+        @Nullable VariableTree var = scope.variable;
         if (var != null && shouldSuppressWarnings(TreeUtils.elementFromTree(var), errKey)) {
             return true;
         }
 
-        @Nullable MethodTree method = TreeUtils.enclosingMethod(path);
+        @Nullable MethodTree method = scope.method;
         if (method != null) {
             @Nullable Element elt = TreeUtils.elementFromTree(method);
 
@@ -1915,7 +2065,7 @@ public abstract class SourceChecker extends AbstractTypeProcessor
             }
         }
 
-        @Nullable ClassTree cls = TreeUtils.enclosingClass(path);
+        @Nullable ClassTree cls = scope.cls;
         if (cls != null) {
             @Nullable Element elt = TreeUtils.elementFromTree(cls);
 
@@ -1940,6 +2090,118 @@ public abstract class SourceChecker extends AbstractTypeProcessor
         return false;
     }
 
+    /**
+     * The innermost variable, method, and class declarations that enclose a tree. Whether a warning
+     * about the tree is suppressed depends only on these declarations.
+     */
+    private static class SuppressionScope {
+        /** The scope of a tree that is not within any declaration. */
+        static final SuppressionScope NONE = new SuppressionScope(null, null, null);
+
+        /** The innermost enclosing variable declaration, or null. */
+        final @Nullable VariableTree variable;
+
+        /** The innermost enclosing method declaration, or null. */
+        final @Nullable MethodTree method;
+
+        /** The innermost enclosing class declaration, or null. */
+        final @Nullable ClassTree cls;
+
+        /**
+         * Creates a SuppressionScope.
+         *
+         * @param variable the innermost enclosing variable declaration, or null
+         * @param method the innermost enclosing method declaration, or null
+         * @param cls the innermost enclosing class declaration, or null
+         */
+        SuppressionScope(
+                @Nullable VariableTree variable,
+                @Nullable MethodTree method,
+                @Nullable ClassTree cls) {
+            this.variable = variable;
+            this.method = method;
+            this.cls = cls;
+        }
+    }
+
+    /**
+     * Returns the declarations that enclose {@code tree}.
+     *
+     * <p>The first call for a compilation unit scans the whole compilation unit once and records
+     * the scope of every tree in it, so that later calls are a lookup. (A program that suppresses
+     * many warnings checks many diagnostics for suppression, and finding the path to each of them
+     * would scan the compilation unit each time.)
+     *
+     * @param tree a tree
+     * @return the declarations that enclose {@code tree}
+     */
+    private SuppressionScope getSuppressionScope(Tree tree) {
+        if (suppressionScopes == null) {
+            Map<Tree, SuppressionScope> scopes = new IdentityHashMap<>();
+            new TreeScanner<Void, SuppressionScope>() {
+                @Override
+                public Void scan(Tree t, SuppressionScope scope) {
+                    if (t == null) {
+                        return null;
+                    }
+                    if (t.getKind() == Tree.Kind.VARIABLE) {
+                        scope = new SuppressionScope((VariableTree) t, scope.method, scope.cls);
+                    } else if (t.getKind() == Tree.Kind.METHOD) {
+                        scope = new SuppressionScope(scope.variable, (MethodTree) t, scope.cls);
+                    } else if (TreeUtils.isClassTree(t)) {
+                        scope = new SuppressionScope(scope.variable, scope.method, (ClassTree) t);
+                    }
+                    scopes.put(t, scope);
+                    return super.scan(t, scope);
+                }
+            }.scan(currentRoot, SuppressionScope.NONE);
+            suppressionScopes = scopes;
+        }
+
+        SuppressionScope scope = suppressionScopes.get(tree);
+        if (scope == null) {
+            // The tree is not in the current compilation unit, for example because it is synthetic.
+            @Nullable TreePath path = trees.getPath(this.currentRoot, tree);
+            scope =
+                    new SuppressionScope(
+                            TreeUtils.enclosingVariable(path),
+                            TreeUtils.enclosingMethod(path),
+                            TreeUtils.enclosingClass(path));
+        }
+        return scope;
+    }
+
+    /**
+     * Returns the innermost class, method, or variable declaration that contains {@code source},
+     * for matching a diagnostic against the baseline.
+     *
+     * @param source the source position information; may be an Element, a Tree, or null
+     * @return the element of the innermost declaration that contains {@code source}, or null
+     */
+    private @Nullable Element getEnclosingDeclaration(@Nullable Object source) {
+        if (source instanceof Element) {
+            return (Element) source;
+        }
+        if (!(source instanceof Tree)) {
+            return null;
+        }
+        SuppressionScope scope = getSuppressionScope((Tree) source);
+        // The declarations are nested, so the innermost one starts last.
+        SourcePositions positions = trees.getSourcePositions();
+        Tree innermost = null;
+        long innermostStart = Long.MIN_VALUE;
+        for (Tree declaration : Arrays.asList(scope.variable, scope.method, scope.cls)) {
+            if (declaration != null) {
+                long start = positions.getStartPosition(currentRoot, declaration);
+                if (start >= innermostStart) {
+                    innermost = declaration;
+                    innermostStart = start;
+                }
+            }
+        }
+        return innermost == null ? null : TreeUtils.elementFromTree(innermost);
+    }
+
     /**
      * Should conservative defaults be used for the kind of unchecked code indicated by the
      * parameter?
@@ -2007,11 +2269,8 @@ public abstract class SourceChecker extends AbstractTypeProcessor
         }
 
         while (elt != null) {
-            SuppressWarnings suppressWarningsAnno = elt.getAnnotation(SuppressWarnings.class);
-            if (suppressWarningsAnno != null) {
-                String[] suppressWarningsStrings = suppressWarningsAnno.value();
-                Arrays.setAll(
-                        suppressWarningsStrings, i -> suppressWarningsStrings[i].toLowerCase());
+            String[] suppressWarningsStrings = getSuppressWarningsStrings(elt);
+            if (suppressWarningsStrings.length != 0) {
                 if (shouldSuppress(suppressWarningsStrings, errKey)) {
                     if (hasOption("warnUnneededSuppressions")) {
                         elementsWithSuppressedWarnings.add(elt);
@@ -2029,6 +2288,29 @@ public abstract class SourceChecker extends AbstractTypeProcessor
         return false;
     }
 
+    /**
+     * Returns the lowercased strings of the {@code @SuppressWarnings} annotation on {@code elt}.
+     *
+     * @param elt an element
+     * @return the strings of the {@code @SuppressWarnings} annotation on {@code elt}, in lower
+     *     case, or a zero-length array if {@code elt} has no such annotation
+     */
+    private String[] getSuppressWarningsStrings(Element elt) {
+        String[] suppressWarningsStrings = suppressWarningsStringsCache.get(elt);
+        if (suppressWarningsStrings == null) {
+            SuppressWarnings suppressWarningsAnno = elt.getAnnotation(SuppressWarnings.class);
+            if (suppressWarningsAnno == null) {
+                suppressWarningsStrings = new String[0];
+            } else {
+                String[] strings = suppressWarningsAnno.value();
+                Arrays.setAll(strings, i -> strings[i].toLowerCase());
+                suppressWarningsStrings = strings;
+            }
+            suppressWarningsStringsCache.put(elt, suppressWarningsStrings);
+        }
+        return suppressWarningsStrings;
+    }
+
     /**
      * Determines whether an error (whose message key is {@code messageKey}) should be suppressed.
      * It is suppressed if any of the given SuppressWarnings strings suppresses it.
@@ -2318,6 +2600,42 @@ public abstract class SourceChecker extends AbstractTypeProcessor
         return shouldSkipDefs(cls);
     }
 
+    /**
+     * Tests whether the class or method definition should not be checked because the {@code
+     * -AonlyLines} option is supplied and none of the lines of the definition is in the regions
+     * that it gives.
+     *
+     * @param root the compilation unit that contains {@code tree}
+     * @param tree class or method to potentially skip
+     * @return true if checker should not test tree
+     */
+    public final boolean shouldSkipLines(CompilationUnitTree root, Tree tree) {
+        return lineRegions != null && !lineRegions.intersects(root, tree);
+    }
+
+    /**
+     * Tests whether the class or method definition should not be checked because the {@code
+     * -Abaseline} file accepts all diagnostics in it.
+     *
+     * @param root the compilation unit that contains {@code tree}
+     * @param tree class or method to potentially skip
+     * @return true if checker should not test tree
+     */
+    public final boolean shouldSkipBaselined(CompilationUnitTree root, Tree tree) {
+        return baseline != null && baseline.matchesAll(root, TreeUtils.elementFromTree(tree));
+    }
+
+    /**
+     * Tests whether the rest of the current class should not be checked because the checker has
+     * issued as many errors as the {@code -AmaxErrorsPerClass} or {@code -AmaxErrors} option
+     * allows.
+     *
+     * @return true if checker should not look for more errors in the current class
+     */
+    public final boolean isErrorLimitReached() {
+        return errorLimit != null && errorLimit.isReached();
+    }
+
     ///////////////////////////////////////////////////////////////////////////
     /// Errors other than type-checking errors
     ///
@@ -55,14 +55,20 @@ import org.checkerframework.framework.type.AnnotatedTypeMirror.AnnotatedExecutab
 import org.checkerframework.framework.type.AnnotatedTypeMirror.AnnotatedTypeVariable;
 import org.checkerframework.framework.type.AnnotatedTypeMirror.AnnotatedWildcardType;
 import org.checkerframework.framework.type.AnnotatedTypeReplacer;
+import org.checkerframework.framework.util.FlightRecorderEvent;
 import org.checkerframework.javacutil.AnnotationBuilder;
 import org.checkerframework.javacutil.AnnotationUtils;
 import org.checkerframework.javacutil.BugInCF;
+import org.checkerframework.javacutil.CollectionUtils;
 import org.checkerframework.javacutil.ElementUtils;
 import org.checkerframework.javacutil.Pair;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.lang.annotation.Target;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -71,6 +77,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.AnnotationMirror;
@@ -133,6 +140,18 @@ public class StubParser {
     // Not final in order to accommodate a default value.
     private StubUnit stubUnit;
 
+    /** The maximum number of entries in {@link #stubUnitCache}. */
+    private static final int STUB_UNIT_CACHE_SIZE = 500;
+
+    /**
+     * Maps the contents of a stub file to its AST. The AST depends only on the text, not on the
+     * compilation, and is never modified, so it is shared by all compilations in the same JVM, such
+     * as the compilations of a test suite or of a {@link
+     * org.checkerframework.framework.util.CheckerDaemon}.
+     */
+    private static final Map<String, StubUnit> stubUnitCache =
+            Collections.synchronizedMap(CollectionUtils.createLRUCache(STUB_UNIT_CACHE_SIZE));
+
     private final ProcessingEnvironment processingEnv;
     private final AnnotatedTypeFactory atypeFactory;
     private final Elements elements;
@@ -461,9 +480,13 @@ public class StubParser {
         StubParser sp =
                 new StubParser(
                         filename, atypeFactory, processingEnv, atypes, declAnnos, isJdkAsStub);
+        Object event = FlightRecorderEvent.PARSE_STUB_FILE.begin();
         try {
             sp.parseStubUnit(inputStream);
             sp.process();
+            if (event != null) {
+                FlightRecorderEvent.PARSE_STUB_FILE.commit(event, filename, isJdkAsStub);
+            }
         } catch (ParseProblemException e) {
             StringBuilder message =
                     new StringBuilder(
@@ -487,7 +510,7 @@ public class StubParser {
         if (debugStubParser) {
             stubDebug(String.format("parsing stub file %s", filename));
         }
-        stubUnit = StaticJavaParser.parseStubUnit(inputStream);
+        stubUnit = getStubUnit(inputStream);
 
         // getAllStubAnnotations() also modifies importedConstants and importedTypes. This should
         // be refactored to be nicer.
@@ -502,6 +525,35 @@ public class StubParser {
         allStubAnnotations.putAll(annosInPackage(findPackage("java.lang")));
     }
 
+    /**
+     * Returns the AST of a stub file, parsing it only if a stub file with the same contents has not
+     * been parsed before.
+     *
+     * @param inputStream the stub file
+     * @return the AST of the stub file
+     */
+    private StubUnit getStubUnit(InputStream inputStream) {
+        byte[] contents;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                bytes.write(buffer, 0, length);
+            }
+            contents = bytes.toByteArray();
+        } catch (IOException e) {
+            throw new BugInCF("Cannot read stub file " + filename, e);
+        }
+        String key = new String(contents, StandardCharsets.UTF_8);
+        StubUnit result = stubUnitCache.get(key);
+        if (result == null) {
+            result = StaticJavaParser.parseStubUnit(new ByteArrayInputStream(contents));
+            stubUnitCache.put(key, result);
+        }
+        return result;
+    }
+
     /** Process {@link #stubUnit}, which is the AST produced by {@link #parseStubUnit}. */
     private void process() {
         processStubUnit(this.stubUnit);
@@ -2063,15 +2115,31 @@ public class StubParser {
     /// Issue warnings
     ///
 
-    // The warnings that have been issued so far.
-    private static final Set<String> warnings = new HashSet<>();
+    /**
+     * The warnings that have been issued so far, for each compilation. A warning is issued only
+     * once per compilation, even if several stub files cause it. Keeping the warnings per
+     * compilation means that compilations that run in the same JVM, such as concurrent test cases,
+     * do not suppress each other's warnings.
+     */
+    private static final Map<ProcessingEnvironment, Set<String>> warnings =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Records that {@code warning} is being issued in this compilation.
+     *
+     * @param warning a warning
+     * @return true if {@code warning} has not been issued before in this compilation
+     */
+    private boolean isNewWarning(String warning) {
+        return warnings.computeIfAbsent(processingEnv, env -> new HashSet<>()).add(warning);
+    }
 
     /**
      * Issues the given warning about missing elements, only if it has not been previously issued
      * and the -AstubWarnIfNotFound command-line argument was passed.
      */
     private void stubWarnNotFound(String warning) {
-        if (warnings.add(warning) && ((!isJdkAsStub && warnIfNotFound) || debugStubParser)) {
+        if (isNewWarning(warning) && ((!isJdkAsStub && warnIfNotFound) || debugStubParser)) {
             processingEnv
                     .getMessager()
                     .printMessage(javax.tools.Diagnostic.Kind.WARNING, "StubParser: " + warning);
@@ -2083,7 +2151,7 @@ public class StubParser {
      * issued and the -AstubWarnIfOverwritesBytecode command-line argument was passed.
      */
     private void stubWarnOverwritesBytecode(String warning) {
-        if (warnings.add(warning) && (warnIfStubOverwritesBytecode || debugStubParser)) {
+        if (isNewWarning(warning) && (warnIfStubOverwritesBytecode || debugStubParser)) {
             processingEnv
                     .getMessager()
                     .printMessage(javax.tools.Diagnostic.Kind.WARNING, "StubParser: " + warning);
@@ -2098,7 +2166,7 @@ public class StubParser {
      */
     private void stubWarn(String warning, Object... args) {
         warning = String.format(warning, args);
-        if (warnings.add(warning) && !isJdkAsStub) {
+        if (isNewWarning(warning) && !isJdkAsStub) {
             processingEnv
                     .getMessager()
                     .printMessage(javax.tools.Diagnostic.Kind.WARNING, "StubParser: " + warning);
@@ -2106,7 +2174,7 @@ public class StubParser {
     }
 
     private void stubDebug(String warning) {
-        if (warnings.add(warning) && debugStubParser) {
+        if (isNewWarning(warning) && debugStubParser) {
             processingEnv
                     .getMessager()
                     .printMessage(javax.tools.Diagnostic.Kind.NOTE, "StubParser: " + warning);
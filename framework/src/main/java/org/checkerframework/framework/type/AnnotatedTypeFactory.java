@@ -167,6 +167,12 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
     /** The state of the visitor. */
     protected final VisitorState visitorState;
 
+    /**
+     * Implements {@link AnnotatedTypes#asSuper} for this factory. Each factory has its own, so that
+     * factories that run concurrently in one JVM do not share a visitor.
+     */
+    private final AsSuperVisitor asSuperVisitor;
+
     /**
      * ===== postInit initialized fields ==== Note: qualHierarchy and typeHierarchy are both
      * initialized in the postInit.
@@ -423,6 +429,7 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
         this.elements = processingEnv.getElementUtils();
         this.types = processingEnv.getTypeUtils();
         this.visitorState = new VisitorState();
+        this.asSuperVisitor = new AsSuperVisitor(this);
 
         this.supportedQuals = new HashSet<>();
         this.supportedQualNames = new HashSet<>();
@@ -830,6 +837,15 @@ public class AnnotatedTypeFactory implements AnnotationProvider {
         return typeVarSubstitutor;
     }
 
+    /**
+     * Returns the visitor that implements {@link AnnotatedTypes#asSuper} for this factory.
+     *
+     * @return the AsSuperVisitor of this factory
+     */
+    public AsSuperVisitor getAsSuperVisitor() {
+        return asSuperVisitor;
+    }
+
     /**
      * TypeArgumentInference infers the method type arguments when they are not explicitly written.
      */
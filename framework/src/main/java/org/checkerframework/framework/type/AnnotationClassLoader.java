@@ -13,8 +13,10 @@ import org.checkerframework.javacutil.InternalUtils;
 import org.checkerframework.javacutil.UserError;
 import org.plumelib.reflection.Signatures;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Target;
@@ -22,6 +24,8 @@ import java.net.JarURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -79,6 +83,13 @@ public class AnnotationClassLoader {
     /** The suffix for a .class file. */
     private static final String CLASS_SUFFIX = ".class";
 
+    /**
+     * The name of the file, in a qual package, that lists the binary names of the classes in the
+     * package and its subpackages, one per line. The build of checker.jar generates it for every
+     * qual package, so that the jar need not be scanned for them.
+     */
+    public static final String QUALIFIER_INDEX = "qualifier-index.txt";
+
     // Constants
     /** The package separator. */
     private static final char DOT = '.';
@@ -498,6 +509,13 @@ public class AnnotationClassLoader {
             return;
         }
 
+        // if the build listed the classes of the qual package, there is no need to scan for them
+        Set<@BinaryName String> indexedNames = getBundledAnnotationNamesFromIndex();
+        if (indexedNames != null) {
+            supportedBundledAnnotationClasses.addAll(loadAnnotationClasses(indexedNames));
+            return;
+        }
+
         // retrieve the fully qualified class names of the annotations
         Set<@BinaryName String> annotationNames;
 
@@ -551,6 +569,43 @@ public class AnnotationClassLoader {
         supportedBundledAnnotationClasses.addAll(loadAnnotationClasses(annotationNames));
     }
 
+    /**
+     * Reads the {@link #QUALIFIER_INDEX} file in the qual directory, if it exists. It exists when
+     * the qual directory is in checker.jar, but not, for example, in a build directory or in the
+     * jar of a checker that is not shipped with the Checker Framework.
+     *
+     * @return the fully qualified class names listed in the index, or null if there is no index
+     */
+    @SuppressWarnings("signature") // the index contains binary names
+    private @Nullable Set<@BinaryName String> getBundledAnnotationNamesFromIndex() {
+        String qualDirectory = resourceURL.toString();
+        if (!qualDirectory.endsWith(Character.toString(SLASH))) {
+            qualDirectory += SLASH;
+        }
+        try {
+            URLConnection connection = new URL(qualDirectory + QUALIFIER_INDEX).openConnection();
+            // as when scanning the jar, do not share the connection to the Jar file
+            connection.setDefaultUseCaches(false);
+            connection.setUseCaches(false);
+            try (BufferedReader reader =
+                    new BufferedReader(
+                            new InputStreamReader(
+                                    connection.getInputStream(), StandardCharsets.UTF_8))) {
+                Set<@BinaryName String> annos = new LinkedHashSet<>();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        annos.add(line);
+                    }
+                }
+                return annos;
+            }
+        } catch (IOException e) {
+            // there is no index; scan the qual directory instead
+            return null;
+        }
+    }
+
     /**
      * Gets the set of annotation classes in the qual directory of a checker shipped with the
      * Checker Framework. Note that the returned set from this method is mutable. This method is
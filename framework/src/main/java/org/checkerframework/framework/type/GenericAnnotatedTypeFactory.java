@@ -14,6 +14,7 @@ import com.sun.source.tree.Tree;
 import com.sun.source.tree.Tree.Kind;
 import com.sun.source.tree.UnaryTree;
 import com.sun.source.tree.VariableTree;
+import com.sun.source.util.SourcePositions;
 import com.sun.source.util.TreePath;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -53,6 +54,7 @@ import org.checkerframework.framework.qual.MonotonicQualifier;
 import org.checkerframework.framework.qual.QualifierForLiterals;
 import org.checkerframework.framework.qual.RelevantJavaTypes;
 import org.checkerframework.framework.qual.TypeUseLocation;
+import org.checkerframework.framework.source.SlowCodeReporter;
 import org.checkerframework.framework.type.AnnotatedTypeMirror.AnnotatedDeclaredType;
 import org.checkerframework.framework.type.AnnotatedTypeMirror.AnnotatedExecutableType;
 import org.checkerframework.framework.type.poly.DefaultQualifierPolymorphism;
@@ -68,8 +70,11 @@ import org.checkerframework.framework.type.typeannotator.ListTypeAnnotator;
 import org.checkerframework.framework.type.typeannotator.PropagationTypeAnnotator;
 import org.checkerframework.framework.type.typeannotator.TypeAnnotator;
 import org.checkerframework.framework.util.AnnotatedTypes;
+import org.checkerframework.framework.util.ContractsUtils;
+import org.checkerframework.framework.util.FlightRecorderEvent;
 import org.checkerframework.framework.util.FlowExpressionParseUtil;
 import org.checkerframework.framework.util.FlowExpressionParseUtil.FlowExpressionParseException;
+import org.checkerframework.framework.util.PurityInference;
 import org.checkerframework.framework.util.defaults.QualifierDefaults;
 import org.checkerframework.framework.util.dependenttypes.DependentTypesHelper;
 import org.checkerframework.framework.util.dependenttypes.DependentTypesTreeAnnotator;
@@ -95,6 +100,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.TreeMap;
 
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
@@ -105,6 +111,7 @@ import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
 
 /**
  * A factory that extends {@link AnnotatedTypeFactory} to optionally use flow-sensitive qualifier
@@ -142,6 +149,15 @@ public abstract class GenericAnnotatedTypeFactory<
     /** to handle dependent type annotations */
     protected DependentTypesHelper dependentTypesHelper;
 
+    /**
+     * Infers the purity of unannotated methods; null unless the {@code -AinferPurity} command-line
+     * option was supplied.
+     */
+    private final @Nullable PurityInference purityInference;
+
+    /** Retrieves and caches the pre- and postconditions of methods. */
+    private final ContractsUtils contractsUtils;
+
     // Flow related fields
 
     /**
@@ -208,6 +224,11 @@ public abstract class GenericAnnotatedTypeFactory<
         this.useFlow = useFlow;
 
         this.scannedClasses = new HashMap<>();
+        this.lazyFlowAnalysis = checker.hasOption("lazyFlowAnalysis");
+        this.deferredFlowAnalyses = new IdentityHashMap<>();
+        this.deferredTreesByStart = new TreeMap<>();
+        this.purityInference = checker.hasOption("inferPurity") ? new PurityInference(this) : null;
+        this.contractsUtils = new ContractsUtils(this);
         this.flowResult = null;
         this.regularExitStores = null;
         this.exceptionalExitStores = null;
@@ -276,6 +297,8 @@ public abstract class GenericAnnotatedTypeFactory<
     public void setRoot(@Nullable CompilationUnitTree root) {
         super.setRoot(root);
         this.scannedClasses.clear();
+        this.deferredFlowAnalyses.clear();
+        this.deferredTreesByStart.clear();
         this.flowResult = null;
         this.regularExitStores = null;
         this.exceptionalExitStores = null;
@@ -478,6 +501,27 @@ public abstract class GenericAnnotatedTypeFactory<
         return dependentTypesHelper;
     }
 
+    /**
+     * Returns the object that infers the purity of methods without a purity annotation, or null if
+     * the {@code -AinferPurity} command-line option was not supplied.
+     *
+     * @return the purity inference for this factory, or null
+     */
+    public @Nullable PurityInference getPurityInference() {
+        return purityInference;
+    }
+
+    /**
+     * Returns the object that retrieves the pre- and postconditions of methods for this factory. It
+     * caches the contracts of each method, so it is shared by the visitor and all dataflow analyses
+     * of this factory.
+     *
+     * @return the ContractsUtils for this factory
+     */
+    public ContractsUtils getContractsUtils() {
+        return contractsUtils;
+    }
+
     @Override
     public AnnotatedDeclaredType fromNewClass(NewClassTree newClassTree) {
         AnnotatedDeclaredType superResult = super.fromNewClass(newClassTree);
@@ -817,6 +861,26 @@ public abstract class GenericAnnotatedTypeFactory<
     /** Map from ClassTree to their dataflow analysis state. */
     protected final Map<ClassTree, ScanState> scannedClasses;
 
+    /**
+     * Whether the flow analysis of lambdas and nested classes is deferred until a store or value
+     * inside them is first requested. Set by the {@code -AlazyFlowAnalysis} command-line option.
+     */
+    private final boolean lazyFlowAnalysis;
+
+    /**
+     * Map from lambda expressions and classes whose flow analysis has been deferred to the inputs
+     * of that analysis. Always empty unless {@link #lazyFlowAnalysis} is true.
+     */
+    private final IdentityHashMap<Tree, DeferredFlowAnalysis> deferredFlowAnalyses;
+
+    /**
+     * The keys of {@link #deferredFlowAnalyses} that have a source position, indexed by their start
+     * position. The deferred trees never overlap: the lambdas and classes inside a deferred tree
+     * are only deferred once it has been analyzed and removed. So the only deferred tree that can
+     * enclose a position is the one that starts last before it.
+     */
+    private final TreeMap<Long, Tree> deferredTreesByStart;
+
     /**
      * The result of the flow analysis. Invariant:
      *
@@ -1050,10 +1114,17 @@ public abstract class GenericAnnotatedTypeFactory<
         }
 
         Queue<Pair<ClassTree, Store>> queue = new ArrayDeque<>();
-        List<Pair<VariableElement, Value>> fieldValues = new ArrayList<>();
+        List<Pair<VariableElement, Value>> fieldValues;
 
-        // No captured store for top-level classes.
-        queue.add(Pair.of(classTree, null));
+        DeferredFlowAnalysis deferred = removeDeferredFlowAnalysis(classTree);
+        if (deferred == null) {
+            fieldValues = new ArrayList<>();
+            // No captured store for top-level classes.
+            queue.add(Pair.of(classTree, null));
+        } else {
+            fieldValues = deferred.fieldValues;
+            queue.add(Pair.of(classTree, deferred.capturedStore));
+        }
 
         while (!queue.isEmpty()) {
             final Pair<ClassTree, Store> qel = queue.remove();
@@ -1098,6 +1169,11 @@ public abstract class GenericAnnotatedTypeFactory<
                             if (mt.getBody() == null) {
                                 break;
                             }
+                            // Skip methods that are not checked due to -AonlyLines or -Abaseline.
+                            if (checker.shouldSkipLines(root, mt)
+                                    || checker.shouldSkipBaselined(root, mt)) {
+                                break;
+                            }
 
                             // Wait with scanning the method until all other members
                             // have been processed.
@@ -1173,6 +1249,10 @@ public abstract class GenericAnnotatedTypeFactory<
                             capturedStore);
                 }
 
+                if (lazyFlowAnalysis) {
+                    deferFlowAnalyses(queue, lambdaQueue, fieldValues, ct, classTree);
+                }
+
                 while (!lambdaQueue.isEmpty()) {
                     Pair<LambdaExpressionTree, Store> lambdaPair = lambdaQueue.poll();
                     analyze(
@@ -1208,6 +1288,203 @@ public abstract class GenericAnnotatedTypeFactory<
         }
     }
 
+    /**
+     * Records the classes and lambdas in {@code queue} and {@code lambdaQueue} as deferred, and
+     * empties both queues. Used if {@code -AlazyFlowAnalysis} was supplied.
+     *
+     * @param queue the queue for encountered class trees and their initial stores
+     * @param lambdaQueue the queue for encountered lambda expression trees and their initial stores
+     * @param fieldValues the abstract values for all fields of the enclosing class
+     * @param enclosingClass the class that contains the trees in the queues
+     * @param classTree the top-level class tree whose analysis is in progress
+     */
+    private void deferFlowAnalyses(
+            Queue<Pair<ClassTree, Store>> queue,
+            Queue<Pair<LambdaExpressionTree, Store>> lambdaQueue,
+            List<Pair<VariableElement, Value>> fieldValues,
+            ClassTree enclosingClass,
+            ClassTree classTree) {
+        for (Pair<ClassTree, Store> nested : queue) {
+            addDeferredFlowAnalysis(
+                    nested.first,
+                    new DeferredFlowAnalysis(
+                            nested.second, fieldValues, enclosingClass, classTree));
+        }
+        queue.clear();
+        for (Pair<LambdaExpressionTree, Store> lambda : lambdaQueue) {
+            addDeferredFlowAnalysis(
+                    lambda.first,
+                    new DeferredFlowAnalysis(
+                            lambda.second, fieldValues, enclosingClass, classTree));
+        }
+        lambdaQueue.clear();
+    }
+
+    /**
+     * Records that the flow analysis of {@code tree} is deferred.
+     *
+     * @param tree a lambda expression or class tree
+     * @param deferred the inputs of its flow analysis
+     */
+    private void addDeferredFlowAnalysis(Tree tree, DeferredFlowAnalysis deferred) {
+        deferredFlowAnalyses.put(tree, deferred);
+        long start = trees.getSourcePositions().getStartPosition(root, tree);
+        if (start != Diagnostic.NOPOS) {
+            deferredTreesByStart.put(start, tree);
+        }
+    }
+
+    /**
+     * Removes the deferred flow analysis of {@code tree}, if any.
+     *
+     * @param tree a lambda expression or class tree
+     * @return the inputs of the deferred flow analysis of {@code tree}, or null if it was not
+     *     deferred
+     */
+    private @Nullable DeferredFlowAnalysis removeDeferredFlowAnalysis(Tree tree) {
+        DeferredFlowAnalysis deferred = deferredFlowAnalyses.remove(tree);
+        if (deferred != null) {
+            long start = trees.getSourcePositions().getStartPosition(root, tree);
+            deferredTreesByStart.remove(start, tree);
+        }
+        return deferred;
+    }
+
+    /**
+     * If the flow analysis of {@code tree}, a lambda expression or a class, was deferred (see
+     * {@code -AlazyFlowAnalysis}), perform it now. Nested lambdas and classes that are encountered
+     * are deferred in turn.
+     *
+     * <p>Does nothing if the analysis of {@code tree} was not deferred, or if a flow analysis is
+     * currently running.
+     *
+     * @param tree a lambda expression or class tree
+     */
+    public void checkAndPerformDeferredFlowAnalysis(Tree tree) {
+        if (deferredFlowAnalyses.isEmpty() || analysis.isRunning()) {
+            return;
+        }
+        if (tree instanceof ClassTree) {
+            if (deferredFlowAnalyses.containsKey(tree)) {
+                checkAndPerformFlowAnalysis(tree);
+            }
+            return;
+        }
+        DeferredFlowAnalysis deferred = removeDeferredFlowAnalysis(tree);
+        if (deferred == null) {
+            return;
+        }
+        LambdaExpressionTree lambda = (LambdaExpressionTree) tree;
+        ClassTree ct = deferred.enclosingClass;
+
+        Queue<Pair<ClassTree, Store>> queue = new ArrayDeque<>();
+        Queue<Pair<LambdaExpressionTree, Store>> lambdaQueue = new ArrayDeque<>();
+
+        TreePath preTreePath = visitorState.getPath();
+        AnnotatedDeclaredType preClassType = visitorState.getClassType();
+        ClassTree preClassTree = visitorState.getClassTree();
+        AnnotatedDeclaredType preAMT = visitorState.getMethodReceiver();
+        MethodTree preMT = visitorState.getMethodTree();
+
+        // Don't use getPath, b/c that depends on the visitorState path.
+        visitorState.setPath(TreePath.getPath(this.root, ct));
+        visitorState.setClassType(getAnnotatedType(TreeUtils.elementFromDeclaration(ct)));
+        visitorState.setClassTree(ct);
+        visitorState.setMethodReceiver(null);
+        visitorState.setMethodTree(null);
+
+        try {
+            analyze(
+                    queue,
+                    lambdaQueue,
+                    new CFGLambda(lambda),
+                    deferred.fieldValues,
+                    deferred.classTree,
+                    false,
+                    false,
+                    false,
+                    deferred.capturedStore);
+        } finally {
+            visitorState.setPath(preTreePath);
+            visitorState.setClassType(preClassType);
+            visitorState.setClassTree(preClassTree);
+            visitorState.setMethodReceiver(preAMT);
+            visitorState.setMethodTree(preMT);
+        }
+
+        deferFlowAnalyses(queue, lambdaQueue, deferred.fieldValues, ct, deferred.classTree);
+    }
+
+    /**
+     * Performs the deferred flow analyses of all lambdas and classes that enclose {@code tree},
+     * outermost first.
+     *
+     * <p>This is called whenever a value is missing from the flow result while analyses are
+     * deferred, which happens for every tree outside a control flow graph. So it does not compute
+     * the path to {@code tree}, and it looks up only the deferred tree that starts last before
+     * {@code tree} in {@link #deferredTreesByStart}.
+     *
+     * @param tree a tree whose inferred value is requested
+     * @return true if any flow analysis was performed
+     */
+    private boolean performEnclosingDeferredFlowAnalyses(Tree tree) {
+        SourcePositions positions = trees.getSourcePositions();
+        long position = positions.getStartPosition(root, tree);
+        if (position == Diagnostic.NOPOS) {
+            return false;
+        }
+        boolean analyzed = false;
+        while (true) {
+            // Analyzing a lambda or class defers the analysis of the lambdas and classes it
+            // contains, so the enclosing deferred tree, if any, is looked up again afterward.
+            Map.Entry<Long, Tree> candidate = deferredTreesByStart.floorEntry(position);
+            if (candidate == null) {
+                return analyzed;
+            }
+            Tree enclosing = candidate.getValue();
+            if (position >= positions.getEndPosition(root, enclosing)) {
+                return analyzed;
+            }
+            checkAndPerformDeferredFlowAnalysis(enclosing);
+            if (deferredFlowAnalyses.containsKey(enclosing)) {
+                // The analysis could not be performed now.
+                return analyzed;
+            }
+            analyzed = true;
+        }
+    }
+
+    /** The inputs needed to perform a deferred flow analysis of a lambda or class. */
+    private class DeferredFlowAnalysis {
+        /** The input Store to use for captured variables. */
+        final Store capturedStore;
+        /** The abstract values for all fields of the enclosing class. */
+        final List<Pair<VariableElement, Value>> fieldValues;
+        /** The class that directly contains the lambda or class. */
+        final ClassTree enclosingClass;
+        /** The top-level class tree whose analysis encountered the lambda or class. */
+        final ClassTree classTree;
+
+        /**
+         * Creates a DeferredFlowAnalysis.
+         *
+         * @param capturedStore the input Store to use for captured variables
+         * @param fieldValues the abstract values for all fields of the enclosing class
+         * @param enclosingClass the class that directly contains the lambda or class
+         * @param classTree the top-level class tree whose analysis encountered the lambda or class
+         */
+        DeferredFlowAnalysis(
+                Store capturedStore,
+                List<Pair<VariableElement, Value>> fieldValues,
+                ClassTree enclosingClass,
+                ClassTree classTree) {
+            this.capturedStore = capturedStore;
+            this.fieldValues = fieldValues;
+            this.enclosingClass = enclosingClass;
+            this.classTree = classTree;
+        }
+    }
+
     /**
      * Analyze the AST {@code ast} and store the result. Additional operations that should be
      * performed after analysis should be implemented in {@link #postAnalyze(ControlFlowGraph)}.
@@ -1234,7 +1511,17 @@ public abstract class GenericAnnotatedTypeFactory<
             boolean updateInitializationStore,
             boolean isStatic,
             Store capturedStore) {
+        SlowCodeReporter slowCodeReporter = checker.getSlowCodeReporter();
+        long startNanos = slowCodeReporter == null ? 0 : System.nanoTime();
+        Object buildEvent = FlightRecorderEvent.BUILD_CFG.begin();
         ControlFlowGraph cfg = CFCFGBuilder.build(root, ast, checker, this, processingEnv);
+        if (buildEvent != null) {
+            FlightRecorderEvent.BUILD_CFG.commit(
+                    buildEvent,
+                    checker.getClass().getSimpleName(),
+                    currentClass.getSimpleName().toString(),
+                    getMethodNameForEvent(ast));
+        }
 
         if (isInitializationCode) {
             Store initStore = !isStatic ? initializationStore : initializationStaticStore;
@@ -1249,7 +1536,29 @@ public abstract class GenericAnnotatedTypeFactory<
         } else {
             transfer.setFixedInitialStore(capturedStore);
         }
+        Object flowEvent = FlightRecorderEvent.ANALYZE_FLOW.begin();
         analysis.performAnalysis(cfg, fieldValues);
+        if (flowEvent != null) {
+            FlightRecorderEvent.ANALYZE_FLOW.commit(
+                    flowEvent,
+                    checker.getClass().getSimpleName(),
+                    currentClass.getSimpleName().toString(),
+                    getMethodNameForEvent(ast),
+                    analysis.getBlocksAnalyzed());
+        }
+        if (slowCodeReporter != null) {
+            long nanos = System.nanoTime() - startNanos;
+            Store exitStore = analysis.getRegularExitStore();
+            slowCodeReporter.methodAnalyzed(
+                    ast.getKind() == UnderlyingAST.Kind.METHOD
+                            ? ((CFGMethod) ast).getMethod()
+                            : ast.getCode(),
+                    root,
+                    currentClass.getSimpleName() + "." + getMethodNameForEvent(ast),
+                    nanos,
+                    analysis.getBlocksAnalyzed(),
+                    exitStore == null ? 0 : exitStore.size());
+        }
         AnalysisResult<Value, Store> result = analysis.getResult();
 
         // store result
@@ -1314,6 +1623,24 @@ public abstract class GenericAnnotatedTypeFactory<
         postAnalyze(cfg);
     }
 
+    /**
+     * Returns the name of the method whose control flow graph is built from {@code ast}, for a
+     * {@link FlightRecorderEvent}.
+     *
+     * @param ast the AST of a method, lambda, or initializer
+     * @return the name of the method, or a placeholder for a lambda or initializer
+     */
+    private static String getMethodNameForEvent(UnderlyingAST ast) {
+        switch (ast.getKind()) {
+            case METHOD:
+                return ((CFGMethod) ast).getMethod().getName().toString();
+            case LAMBDA:
+                return "<lambda>";
+            default:
+                return "<initializer>";
+        }
+    }
+
     /**
      * Perform any additional operations on a CFG. Called once per CFG, after the CFG has been
      * analyzed by {@link #analyze(Queue, Queue, UnderlyingAST, List, ClassTree, boolean, boolean,
@@ -1574,6 +1901,12 @@ public abstract class GenericAnnotatedTypeFactory<
                 // checker-framework-inference fails without it.
                 flowResult != null) {
             as = flowResult.getValue(tree);
+            if (as == null
+                    && !deferredFlowAnalyses.isEmpty()
+                    && !analysis.isRunning()
+                    && performEnclosingDeferredFlowAnalyses(tree)) {
+                as = flowResult.getValue(tree);
+            }
         }
         return as;
     }
@@ -13,10 +13,12 @@ import org.checkerframework.framework.type.QualifierHierarchy;
 import org.checkerframework.framework.type.typeannotator.DefaultForTypeAnnotator;
 import org.checkerframework.javacutil.AnnotationBuilder;
 import org.checkerframework.javacutil.BugInCF;
+import org.checkerframework.javacutil.CollectionUtils;
 import org.checkerframework.javacutil.SystemUtil;
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
@@ -50,6 +52,18 @@ public class LiteralTreeAnnotator extends TreeAnnotator {
     private final Map<Class<?>, Set<AnnotationMirror>> treeClasses;
     private final Map<Pattern, Set<AnnotationMirror>> stringPatterns;
 
+    /** The maximum number of entries in {@link #stringLiteralQualifiers}. */
+    private static final int STRING_LITERAL_CACHE_SIZE = 300;
+
+    /**
+     * Maps the value of a string literal to the qualifiers that {@link #stringPatterns} gives it,
+     * or to the empty set if it matches no pattern. Programs tend to contain the same string
+     * literal many times, and each entry saves matching every pattern against the string. Cleared
+     * whenever a pattern is added.
+     */
+    private final Map<String, Set<? extends AnnotationMirror>> stringLiteralQualifiers =
+            CollectionUtils.createLRUCache(STRING_LITERAL_CACHE_SIZE);
+
     protected final QualifierHierarchy qualHierarchy;
 
     /**
@@ -194,6 +208,7 @@ public class LiteralTreeAnnotator extends TreeAnnotator {
                             + " with "
                             + theQual);
         }
+        stringLiteralQualifiers.clear();
     }
 
     @Override
@@ -231,44 +246,63 @@ public class LiteralTreeAnnotator extends TreeAnnotator {
     @Override
     public Void visitLiteral(LiteralTree tree, AnnotatedTypeMirror type) {
         if (!stringPatterns.isEmpty() && tree.getKind() == Kind.STRING_LITERAL) {
-            List<Set<? extends AnnotationMirror>> matches = new ArrayList<>();
-            List<Set<? extends AnnotationMirror>> nonMatches = new ArrayList<>();
-
             String string = (String) tree.getValue();
-            for (Pattern pattern : stringPatterns.keySet()) {
-                Set<AnnotationMirror> sam = stringPatterns.get(pattern);
-                if (pattern.matcher(string).matches()) {
-                    matches.add(sam);
-                } else {
-                    nonMatches.add(sam);
-                }
+            Set<? extends AnnotationMirror> res = stringLiteralQualifiers.get(string);
+            if (res == null) {
+                res = getStringLiteralQualifiers(string);
+                stringLiteralQualifiers.put(string, res);
             }
-            if (!matches.isEmpty()) {
-                Set<? extends AnnotationMirror> res = matches.get(0);
-                for (Set<? extends AnnotationMirror> sam : matches) {
-                    res = qualHierarchy.greatestLowerBounds(res, sam);
-                }
-                // Verify that res is not a subtype of any type in nonMatches
-                for (Set<? extends AnnotationMirror> sam : nonMatches) {
-                    if (qualHierarchy.isSubtype(res, sam)) {
-                        String matchesOnePerLine = "";
-                        for (Set<? extends AnnotationMirror> match : matches) {
-                            matchesOnePerLine += System.lineSeparator() + "     " + match;
-                        }
-                        throw new BugInCF(
-                                SystemUtil.joinLines(
-                                        "Bug in @QualifierForLiterals(stringpatterns=...) in type"
-                                                + " hierarchy definition:",
-                                        " the glb of `matches` for \"" + string + "\" is " + res,
-                                        " which is a subtype of " + sam,
-                                        " whose pattern does not match \"" + string + "\".",
-                                        "  matches = " + matchesOnePerLine,
-                                        "  nonMatches = " + nonMatches));
-                    }
-                }
+            if (!res.isEmpty()) {
                 type.addAnnotations(res);
             }
         }
         return super.visitLiteral(tree, type);
     }
+
+    /**
+     * Returns the greatest lower bound of the qualifiers of all patterns in {@link #stringPatterns}
+     * that match {@code string}.
+     *
+     * @param string the value of a string literal
+     * @return the qualifiers for {@code string}, or the empty set if it matches no pattern
+     */
+    private Set<? extends AnnotationMirror> getStringLiteralQualifiers(String string) {
+        List<Set<? extends AnnotationMirror>> matches = new ArrayList<>();
+        List<Set<? extends AnnotationMirror>> nonMatches = new ArrayList<>();
+
+        for (Pattern pattern : stringPatterns.keySet()) {
+            Set<AnnotationMirror> sam = stringPatterns.get(pattern);
+            if (pattern.matcher(string).matches()) {
+                matches.add(sam);
+            } else {
+                nonMatches.add(sam);
+            }
+        }
+        if (matches.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<? extends AnnotationMirror> res = matches.get(0);
+        for (Set<? extends AnnotationMirror> sam : matches) {
+            res = qualHierarchy.greatestLowerBounds(res, sam);
+        }
+        // Verify that res is not a subtype of any type in nonMatches
+        for (Set<? extends AnnotationMirror> sam : nonMatches) {
+            if (qualHierarchy.isSubtype(res, sam)) {
+                String matchesOnePerLine = "";
+                for (Set<? extends AnnotationMirror> match : matches) {
+                    matchesOnePerLine += System.lineSeparator() + "     " + match;
+                }
+                throw new BugInCF(
+                        SystemUtil.joinLines(
+                                "Bug in @QualifierForLiterals(stringpatterns=...) in type"
+                                        + " hierarchy definition:",
+                                " the glb of `matches` for \"" + string + "\" is " + res,
+                                " which is a subtype of " + sam,
+                                " whose pattern does not match \"" + string + "\".",
+                                "  matches = " + matchesOnePerLine,
+                                "  nonMatches = " + nonMatches));
+            }
+        }
+        return res;
+    }
 }
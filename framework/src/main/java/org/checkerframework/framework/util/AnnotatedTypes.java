@@ -19,7 +19,6 @@ import org.checkerframework.framework.type.AnnotatedTypeMirror.AnnotatedExecutab
 import org.checkerframework.framework.type.AnnotatedTypeMirror.AnnotatedIntersectionType;
 import org.checkerframework.framework.type.AnnotatedTypeMirror.AnnotatedTypeVariable;
 import org.checkerframework.framework.type.AnnotatedTypeMirror.AnnotatedWildcardType;
-import org.checkerframework.framework.type.AsSuperVisitor;
 import org.checkerframework.framework.type.QualifierHierarchy;
 import org.checkerframework.framework.type.SyntheticArrays;
 import org.checkerframework.framework.type.poly.QualifierPolymorphism;
@@ -66,8 +65,6 @@ public class AnnotatedTypes {
         throw new AssertionError("Class AnnotatedTypes cannot be instantiated.");
     }
 
-    private static AsSuperVisitor asSuperVisitor;
-
     /**
      * Copies annotations from {@code type} to a copy of {@code superType} where the type variables
      * of {@code superType} have been substituted. How the annotations are copied depends on the
@@ -108,10 +105,7 @@ public class AnnotatedTypes {
      */
     public static <T extends AnnotatedTypeMirror> T asSuper(
             AnnotatedTypeFactory atypeFactory, AnnotatedTypeMirror type, T superType) {
-        if (asSuperVisitor == null || !asSuperVisitor.sameAnnotatedTypeFactory(atypeFactory)) {
-            asSuperVisitor = new AsSuperVisitor(atypeFactory);
-        }
-        return asSuperVisitor.asSuper(type, superType);
+        return atypeFactory.getAsSuperVisitor().asSuper(type, superType);
     }
 
     /**
@@ -783,9 +777,19 @@ public class AnnotatedTypes {
             }
             return typeArguments;
         } else {
-            return atypeFactory
-                    .getTypeArgumentInference()
-                    .inferTypeArgs(atypeFactory, expr, elt, preType);
+            Object event = FlightRecorderEvent.INFER_TYPE_ARGUMENTS.begin();
+            Map<TypeVariable, AnnotatedTypeMirror> typeArguments =
+                    atypeFactory
+                            .getTypeArgumentInference()
+                            .inferTypeArgs(atypeFactory, expr, elt, preType);
+            if (event != null) {
+                FlightRecorderEvent.INFER_TYPE_ARGUMENTS.commit(
+                        event,
+                        atypeFactory.getClass().getSimpleName(),
+                        elt.getEnclosingElement().getSimpleName() + "." + elt.getSimpleName(),
+                        typeArguments.size());
+            }
+            return typeArguments;
         }
     }
 
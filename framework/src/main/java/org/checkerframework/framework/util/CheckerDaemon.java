@@ -0,0 +1,412 @@
+package org.checkerframework.framework.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A long-lived process that runs the Checker Framework on behalf of {@link CheckerMain}.
+ *
+ * <p>Starting a JVM and loading and compiling javac and the Checker Framework takes seconds, which
+ * dominates the time to check a small number of files. If the environment variable {@value
+ * #PORT_ENV_VAR} is set to a port number, {@link CheckerMain} (and therefore the {@code javac}
+ * script) sends its compiler arguments to a daemon listening on that port of the local host, which
+ * runs javac in its already warm JVM. If no daemon is running, {@link CheckerMain} starts one in
+ * the background and compiles as usual.
+ *
+ * <p>Each compilation creates a new javac context, so changes to the classpath, the processors, and
+ * the checker options take effect immediately. What the daemon keeps is the loaded and JIT-compiled
+ * code of javac and the checkers, and the static caches that are keyed by strings rather than by
+ * compiler elements, such as parsed expressions.
+ *
+ * <p>The daemon refuses a request (and {@link CheckerMain} then compiles in a new process) if it
+ * was started in a different working directory, because relative file names would be resolved
+ * differently; if it was started with different java arguments, such as {@code -J} options or a
+ * different bootclasspath; or if the Checker Framework jar file has changed since the daemon
+ * started. In the last case the daemon also exits. It exits after being idle for {@link
+ * #IDLE_TIMEOUT_MILLIS}. Output that the checkers write directly to standard output or standard
+ * error, rather than as compiler diagnostics, goes to the daemon's log file.
+ *
+ * <p>Only processes that can read the daemon's token file, which only the user who started it can
+ * read, can use the daemon. The token file is in a directory that only that user can access.
+ */
+public class CheckerDaemon {
+
+    /** The environment variable that contains the port of the daemon to use. */
+    public static final String PORT_ENV_VAR = "CHECKERFRAMEWORK_DAEMON_PORT";
+
+    /** The status with which the daemon refuses a request, rather than reporting a javac exit. */
+    public static final int REFUSED = -1;
+
+    /** The exit status of javac when the compiler crashed. */
+    private static final int EXIT_ABNORMAL = 4;
+
+    /** How long the daemon waits for a request before it exits. */
+    public static final int IDLE_TIMEOUT_MILLIS = 3 * 60 * 60 * 1000;
+
+    /** How long the daemon waits for a client that has connected to send its request. */
+    private static final int REQUEST_TIMEOUT_MILLIS = 10 * 1000;
+
+    /** How long a client waits to connect to the daemon. */
+    private static final int CONNECT_TIMEOUT_MILLIS = 500;
+
+    /** The permissions of the token file: readable and writable only by its owner. */
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE =
+            PosixFilePermissions.fromString("rw-------");
+
+    /** The permissions of the daemon directory: accessible only by its owner. */
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY =
+            PosixFilePermissions.fromString("rwx------");
+
+    /** The socket on which the daemon accepts requests. */
+    private final ServerSocket server;
+
+    /** The token that a client must send to be served. */
+    private final byte[] token;
+
+    /** The working directory of the daemon, which must be the one of each client. */
+    private final String workingDirectory;
+
+    /** The java command and options the daemon was started with, which must be the client's. */
+    private final List<String> javaArgs;
+
+    /** The Checker Framework jar file. */
+    private final File checkerJar;
+
+    /** The modification time of {@link #checkerJar} when the daemon started. */
+    private final long checkerJarModified;
+
+    /**
+     * Creates a daemon that listens on {@code port} of the local host, and writes its token file.
+     * Call {@link #run} to serve requests.
+     *
+     * @param port the port to listen on, or 0 for any free port
+     * @param javaArgs the java command and its options that started the daemon, as returned by
+     *     {@link CheckerMain#getJavaArguments}; requests from clients that would have used
+     *     different ones are refused
+     * @throws IOException if the daemon cannot listen on the port or write its token file
+     */
+    public CheckerDaemon(int port, List<String> javaArgs) throws IOException {
+        this.checkerJar = new File(CheckerMain.findPathTo(CheckerMain.class, false));
+        this.checkerJarModified = checkerJar.lastModified();
+        this.workingDirectory = System.getProperty("user.dir");
+        this.javaArgs = new ArrayList<>(javaArgs);
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        try {
+            server.setSoTimeout(IDLE_TIMEOUT_MILLIS);
+            this.token = createToken(server.getLocalPort()).getBytes(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the daemon.
+     *
+     * @param args the port to listen on, followed by the java command and its options that started
+     *     the daemon
+     * @throws IOException if the daemon cannot listen on the port
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println(
+                    "Usage: java "
+                            + CheckerDaemon.class.getName()
+                            + " <port> <java command and options>");
+            System.exit(1);
+        }
+        int port = Integer.parseInt(args[0]);
+        List<String> javaArgs = Arrays.asList(args).subList(1, args.length);
+        new CheckerDaemon(port, javaArgs).run();
+    }
+
+    /**
+     * Returns the port on which this daemon listens.
+     *
+     * @return the port of this daemon
+     */
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Serves requests until the daemon has been idle for {@link #IDLE_TIMEOUT_MILLIS}, the Checker
+     * Framework jar file changes, or {@link #stop} is called.
+     *
+     * @throws IOException if the daemon cannot wait for requests
+     */
+    public void run() throws IOException {
+        try {
+            while (true) {
+                Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (SocketTimeoutException e) {
+                    return;
+                } catch (SocketException e) {
+                    // stop() closed the server socket.
+                    return;
+                }
+                try (Socket s = socket) {
+                    if (!serve(s)) {
+                        return;
+                    }
+                } catch (IOException e) {
+                    // The client went away or did not send its request in time; wait for the
+                    // next one.
+                    e.printStackTrace();
+                }
+            }
+        } finally {
+            stop();
+        }
+    }
+
+    /**
+     * Stops the daemon and deletes its token file. A call to {@link #run} returns once the request
+     * it is serving, if any, is done.
+     */
+    public void stop() {
+        try {
+            server.close();
+        } catch (IOException e) {
+            // Nothing to do; the daemon is stopping anyway.
+        }
+        getTokenFile(server.getLocalPort()).delete();
+    }
+
+    /**
+     * Serves one request.
+     *
+     * @param socket the connection to the client
+     * @return false if the daemon should exit
+     * @throws IOException if the client goes away or does not send its request in time
+     */
+    private boolean serve(Socket socket) throws IOException {
+        socket.setSoTimeout(REQUEST_TIMEOUT_MILLIS);
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        byte[] clientToken = in.readUTF().getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(token, clientToken)) {
+            return true;
+        }
+        String clientDirectory = in.readUTF();
+        List<String> clientJavaArgs = readStrings(in);
+        String[] compilerArgs = readStrings(in).toArray(new String[0]);
+
+        if (checkerJar.lastModified() != checkerJarModified) {
+            out.writeInt(REFUSED);
+            out.flush();
+            return false;
+        }
+        if (!clientDirectory.equals(workingDirectory) || !clientJavaArgs.equals(javaArgs)) {
+            out.writeInt(REFUSED);
+            out.flush();
+            return true;
+        }
+
+        StringWriter output = new StringWriter();
+        int exitStatus;
+        try (PrintWriter writer = new PrintWriter(output)) {
+            try {
+                exitStatus = com.sun.tools.javac.Main.compile(compilerArgs, writer);
+            } catch (Throwable t) {
+                t.printStackTrace(writer);
+                exitStatus = EXIT_ABNORMAL;
+            }
+        }
+        byte[] bytes = output.toString().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(exitStatus);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.flush();
+        return true;
+    }
+
+    /**
+     * Reads a list of strings that was written by {@link #writeStrings}.
+     *
+     * @param in the stream to read from
+     * @return the strings
+     * @throws IOException if the strings cannot be read
+     */
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            strings.add(in.readUTF());
+        }
+        return strings;
+    }
+
+    /**
+     * Writes a list of strings, preceded by its size.
+     *
+     * @param out the stream to write to
+     * @param strings the strings
+     * @throws IOException if the strings cannot be written
+     */
+    private static void writeStrings(DataOutputStream out, List<String> strings)
+            throws IOException {
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            out.writeUTF(string);
+        }
+    }
+
+    /**
+     * Asks the daemon listening on {@code port} to run javac.
+     *
+     * @param port the port of the daemon
+     * @param javaArgs the java command and its options with which the client would run javac, as
+     *     returned by {@link CheckerMain#getJavaArguments}
+     * @param compilerArgs the arguments to javac
+     * @param diagnostics where to write the output of javac
+     * @return the exit status of javac, or {@link #REFUSED} if the daemon refused to run it
+     * @throws IOException if no daemon is listening on {@code port}
+     */
+    public static int compile(
+            int port, List<String> javaArgs, List<String> compilerArgs, PrintStream diagnostics)
+            throws IOException {
+        File tokenFile = getTokenFile(port);
+        if (!tokenFile.exists()) {
+            throw new IOException("No daemon token file " + tokenFile);
+        }
+        String token = new String(Files.readAllBytes(tokenFile.toPath()), StandardCharsets.UTF_8);
+
+        try (Socket socket = new Socket()) {
+            socket.connect(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                    CONNECT_TIMEOUT_MILLIS);
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            out.writeUTF(token);
+            out.writeUTF(System.getProperty("user.dir"));
+            writeStrings(out, javaArgs);
+            writeStrings(out, compilerArgs);
+            out.flush();
+
+            int exitStatus = in.readInt();
+            if (exitStatus == REFUSED) {
+                return REFUSED;
+            }
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            diagnostics.print(new String(bytes, StandardCharsets.UTF_8));
+            diagnostics.flush();
+            return exitStatus;
+        }
+    }
+
+    /**
+     * Starts a daemon in the background that listens on {@code port}. Does not wait for it to
+     * start. If another daemon is already listening on {@code port}, the new one exits.
+     *
+     * @param port the port for the daemon to listen on
+     * @param javaArgs the java command and its options, which must put javac and the Checker
+     *     Framework on the classpath
+     */
+    public static void start(int port, List<String> javaArgs) {
+        List<String> command = new ArrayList<>(javaArgs);
+        command.add(CheckerDaemon.class.getName());
+        command.add(Integer.toString(port));
+        command.addAll(javaArgs);
+        File log = new File(getDaemonDirectory(), "daemon-" + port + ".log");
+        try {
+            new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.appendTo(log))
+                    .start();
+        } catch (IOException e) {
+            // The daemon is only an optimization; compile without it.
+        }
+    }
+
+    /**
+     * Creates a new random token in the token file for {@code port}, readable only by the current
+     * user. The token file is deleted when the daemon exits.
+     *
+     * @param port the port of the daemon
+     * @return the token
+     * @throws IOException if the token file cannot be written
+     */
+    private static String createToken(int port) throws IOException {
+        byte[] random = new byte[16];
+        new SecureRandom().nextBytes(random);
+        StringBuilder token = new StringBuilder();
+        for (byte b : random) {
+            token.append(String.format("%02x", b));
+        }
+
+        File tokenFile = getTokenFile(port);
+        Path tokenPath = tokenFile.toPath();
+        Files.deleteIfExists(tokenPath);
+        try {
+            // Create the file with its final permissions, so that no other user can open it
+            // before they are set.
+            Files.createFile(tokenPath, PosixFilePermissions.asFileAttribute(OWNER_ONLY_FILE));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system, such as on Windows.
+            Files.createFile(tokenPath);
+            tokenFile.setReadable(false, false);
+            tokenFile.setReadable(true, true);
+        }
+        tokenFile.deleteOnExit();
+        Files.write(tokenPath, token.toString().getBytes(StandardCharsets.UTF_8));
+        return token.toString();
+    }
+
+    /**
+     * Returns the file that contains the token of the daemon listening on {@code port}.
+     *
+     * @param port the port of the daemon
+     * @return the token file of the daemon
+     */
+    private static File getTokenFile(int port) {
+        return new File(getDaemonDirectory(), "daemon-" + port + ".token");
+    }
+
+    /**
+     * Returns the directory that contains the token and log files of daemons, creating it if
+     * necessary so that only the current user can access it.
+     *
+     * @return the directory for the files of daemons
+     */
+    private static File getDaemonDirectory() {
+        File dir = new File(System.getProperty("user.home"), ".checkerframework");
+        if (!dir.exists()) {
+            try {
+                Files.createDirectories(
+                        dir.toPath(), PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIRECTORY));
+            } catch (UnsupportedOperationException e) {
+                // Not a POSIX file system, such as on Windows.
+                dir.mkdirs();
+            } catch (IOException e) {
+                // Creating a file in the directory will fail and report the problem.
+            }
+        }
+        return dir;
+    }
+}
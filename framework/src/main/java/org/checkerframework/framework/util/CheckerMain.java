@@ -1,5 +1,6 @@
 package org.checkerframework.framework.util;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.javacutil.BugInCF;
 import org.checkerframework.javacutil.SystemUtil;
 
@@ -395,6 +396,19 @@ public class CheckerMain {
 
     /** Invoke the compiler with all relevant jars on its classpath and/or bootclasspath. */
     public List<String> getExecArguments() {
+        List<String> args = getJavaArguments();
+        addMainToArgs(args);
+        addCompilerArguments(args, true);
+        return args;
+    }
+
+    /**
+     * Returns the command that runs java with all relevant jars on its classpath and/or
+     * bootclasspath, up to but not including the name of the main class.
+     *
+     * @return the java command and its options
+     */
+    protected List<String> getJavaArguments() {
         List<String> args = new ArrayList<>(jvmOpts.size() + cpOpts.size() + toolOpts.size() + 7);
 
         // TODO: do we need java.exe on Windows?
@@ -418,16 +432,39 @@ public class CheckerMain {
         args.add("-ea:com.sun.tools...");
 
         args.addAll(jvmOpts);
+        return args;
+    }
 
-        addMainToArgs(args);
+    /**
+     * Returns the arguments to pass to javac, as they would be passed to {@code
+     * com.sun.tools.javac.Main.compile} in a process that was started with {@link
+     * #getJavaArguments()}.
+     *
+     * @return the arguments to javac
+     */
+    public List<String> getCompilerArguments() {
+        List<String> args = new ArrayList<>(cpOpts.size() + toolOpts.size() + 8);
+        addCompilerArguments(args, false);
+        return args;
+    }
 
+    /**
+     * Adds the arguments to pass to javac to {@code args}.
+     *
+     * @param args the list to add to
+     * @param quotePaths whether to quote paths that contain spaces, as is needed when the arguments
+     *     are passed on a command line
+     */
+    private void addCompilerArguments(List<String> args, boolean quotePaths) {
         if (!argsListHasClassPath(argListFiles)) {
+            String classpath = concatenatePaths(cpOpts);
             args.add("-classpath");
-            args.add(quote(concatenatePaths(cpOpts)));
+            args.add(quotePaths ? quote(classpath) : classpath);
         }
         if (!argsListHasProcessorPath(argListFiles)) {
+            String processorpath = concatenatePaths(ppOpts);
             args.add("-processorpath");
-            args.add(quote(concatenatePaths(ppOpts)));
+            args.add(quotePaths ? quote(processorpath) : processorpath);
         }
 
         if (SystemUtil.getJreVersion() == 8) {
@@ -449,7 +486,6 @@ public class CheckerMain {
         }
 
         args.addAll(toolOpts);
-        return args;
     }
 
     /** Given a list of paths, concatenate them to form a single path. Also expand wildcards. */
@@ -509,10 +545,47 @@ public class CheckerMain {
             }
         }
 
+        String daemonPort = System.getenv(CheckerDaemon.PORT_ENV_VAR);
+        if (daemonPort != null) {
+            Integer exitStatus = invokeDaemon(daemonPort);
+            if (exitStatus != null) {
+                return exitStatus;
+            }
+        }
+
         // Actually invoke the compiler
         return ExecUtil.execute(args.toArray(new String[args.size()]), System.out, System.err);
     }
 
+    /**
+     * Asks the {@link CheckerDaemon} listening on the given port to run the compiler. If no daemon
+     * is listening, starts one for use by later invocations.
+     *
+     * @param daemonPort the value of the {@link CheckerDaemon#PORT_ENV_VAR} environment variable
+     * @return the exit status of the compiler, or null if the daemon did not run the compiler, in
+     *     which case the caller should run it
+     */
+    private @Nullable Integer invokeDaemon(String daemonPort) {
+        int port;
+        try {
+            port = Integer.parseInt(daemonPort);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException(
+                    CheckerDaemon.PORT_ENV_VAR + " is not a port number: " + daemonPort);
+        }
+        List<String> compilerArgs = getCompilerArguments();
+        compilerArgs.removeIf(arg -> arg.startsWith("-AoutputArgsToFile="));
+        try {
+            int exitStatus =
+                    CheckerDaemon.compile(port, getJavaArguments(), compilerArgs, System.err);
+            return exitStatus == CheckerDaemon.REFUSED ? null : exitStatus;
+        } catch (IOException e) {
+            // No daemon is running; start one and compile in a new process as usual.
+            CheckerDaemon.start(port, getJavaArguments());
+            return null;
+        }
+    }
+
     private static void outputArgumentsToFile(String outputFilename, List<String> args) {
         if (outputFilename != null) {
             String errorMessage = null;
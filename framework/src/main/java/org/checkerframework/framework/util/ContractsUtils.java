@@ -11,9 +11,11 @@ import org.checkerframework.framework.type.GenericAnnotatedTypeFactory;
 import org.checkerframework.framework.util.Contract.Kind;
 import org.checkerframework.javacutil.AnnotationBuilder;
 import org.checkerframework.javacutil.AnnotationUtils;
+import org.checkerframework.javacutil.CollectionUtils;
 import org.checkerframework.javacutil.Pair;
 
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -40,26 +42,48 @@ import javax.lang.model.util.ElementFilter;
 // If not, issue a more helpful error message.
 public class ContractsUtils {
 
+    /** The factory that this ContractsUtils is associated with. */
+    protected GenericAnnotatedTypeFactory<?, ?, ?, ?> factory;
+
+    /** The maximum number of methods whose contracts are cached, for each kind of contract. */
+    private static final int CONTRACTS_CACHE_SIZE = 300;
+
     /**
-     * The currently-used ContractsUtils object. This class is NOT a singleton: this value can
-     * change.
+     * For each kind of contract, maps a method or constructor to its contracts of that kind. The
+     * contracts of a method are requested at the method declaration and at every call of the
+     * method, so they are computed from its declaration annotations only once.
      */
-    protected static ContractsUtils instance;
+    private final Map<Kind, Map<ExecutableElement, Set<? extends Contract>>> contractsCache =
+            new EnumMap<>(Kind.class);
 
-    /** The factory that this ContractsUtils is associated with. */
-    protected GenericAnnotatedTypeFactory<?, ?, ?, ?> factory;
+    /**
+     * Maps the declaration of a contract annotation to the result of {@link #makeArgumentRenaming}
+     * for it.
+     */
+    private final Map<Element, Map<String, String>> argumentRenamingCache = new HashMap<>();
 
-    /** Creates a ContractsUtils for the given factory. */
-    private ContractsUtils(GenericAnnotatedTypeFactory<?, ?, ?, ?> factory) {
+    /**
+     * Creates a ContractsUtils for the given factory. Use {@link
+     * GenericAnnotatedTypeFactory#getContractsUtils} to obtain the one of a factory, so that its
+     * caches are shared.
+     *
+     * @param factory the factory whose contracts are retrieved
+     */
+    public ContractsUtils(GenericAnnotatedTypeFactory<?, ?, ?, ?> factory) {
         this.factory = factory;
+        for (Kind kind : Kind.values()) {
+            contractsCache.put(kind, CollectionUtils.createLRUCache(CONTRACTS_CACHE_SIZE));
+        }
     }
 
-    /** Returns an instance of the {@link ContractsUtils} class. */
+    /**
+     * Returns the ContractsUtils of the given factory.
+     *
+     * @param factory a factory
+     * @return {@code factory.getContractsUtils()}
+     */
     public static ContractsUtils getInstance(GenericAnnotatedTypeFactory<?, ?, ?, ?> factory) {
-        if (instance == null || instance.factory != factory) {
-            instance = new ContractsUtils(factory);
-        }
-        return instance;
+        return factory.getContractsUtils();
     }
 
     /**
@@ -157,7 +181,8 @@ public class ContractsUtils {
     }
 
     /**
-     * Returns the contracts on method or constructor {@code executableElement}.
+     * Returns the contracts on method or constructor {@code executableElement}. The result is
+     * cached and is unmodifiable.
      *
      * @param executableElement the method whose contracts to return
      * @param kind the kind of contracts to retrieve
@@ -167,6 +192,29 @@ public class ContractsUtils {
      */
     private <T extends Contract> Set<T> getContracts(
             ExecutableElement executableElement, Kind kind, Class<T> clazz) {
+        Map<ExecutableElement, Set<? extends Contract>> cache = contractsCache.get(kind);
+        @SuppressWarnings("unchecked") // the cache for kind only contains sets of clazz
+        Set<T> result = (Set<T>) cache.get(executableElement);
+        if (result == null) {
+            result = Collections.unmodifiableSet(computeContracts(executableElement, kind, clazz));
+            cache.put(executableElement, result);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the contracts on method or constructor {@code executableElement}, from its
+     * declaration annotations. Clients should call {@link #getContracts(ExecutableElement, Kind,
+     * Class)}, which caches the result.
+     *
+     * @param executableElement the method whose contracts to return
+     * @param kind the kind of contracts to retrieve
+     * @param clazz the class to determine the return type
+     * @param <T> the specific type of {@link Contract} to use
+     * @return the contracts on {@code executableElement}
+     */
+    private <T extends Contract> Set<T> computeContracts(
+            ExecutableElement executableElement, Kind kind, Class<T> clazz) {
         Set<T> result = new LinkedHashSet<>();
         // Check for a single contract annotation.
         AnnotationMirror frameworkContractAnno =
@@ -235,8 +283,12 @@ public class ContractsUtils {
     private AnnotationMirror getQualifierEnforcedByContractAnnotation(
             AnnotationMirror contractAnno, AnnotationMirror argumentAnno) {
 
-        Map<String, String> argumentRenaming =
-                makeArgumentRenaming(argumentAnno.getAnnotationType().asElement());
+        Element argumentAnnoElement = argumentAnno.getAnnotationType().asElement();
+        Map<String, String> argumentRenaming = argumentRenamingCache.get(argumentAnnoElement);
+        if (argumentRenaming == null) {
+            argumentRenaming = makeArgumentRenaming(argumentAnnoElement);
+            argumentRenamingCache.put(argumentAnnoElement, argumentRenaming);
+        }
         return getQualifierEnforcedByContractAnnotation(
                 contractAnno, argumentAnno, argumentRenaming);
     }
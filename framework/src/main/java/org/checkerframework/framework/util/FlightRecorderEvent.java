@@ -0,0 +1,285 @@
+package org.checkerframework.framework.util;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A kind of JDK Flight Recorder (JFR) event that the Checker Framework emits, so that a JFR
+ * recording of a compilation shows where the checkers spend their time. The events are in the
+ * "Checker Framework" category.
+ *
+ * <p>The Checker Framework must run on JDK 8, where the {@code jdk.jfr} API may not exist, so the
+ * event types are created at run time with {@code jdk.jfr.EventFactory} and used reflectively. If
+ * that API is not available, {@link #begin} returns null and there is no other overhead. If it is
+ * available but the event is not being recorded, {@link #begin} creates an event object and returns
+ * null. Use an event like this:
+ *
+ * <pre>{@code
+ * Object event = FlightRecorderEvent.CHECK_CLASS.begin();
+ * ... // the work to measure
+ * if (event != null) {
+ *     FlightRecorderEvent.CHECK_CLASS.commit(event, checkerName, className);
+ * }
+ * }</pre>
+ *
+ * The null test avoids computing the values of the fields of an event that is not recorded.
+ */
+public class FlightRecorderEvent {
+
+    /** The category of all Checker Framework events. */
+    private static final String CATEGORY = "Checker Framework";
+
+    /** The prefix of the names of all Checker Framework events. */
+    private static final String NAME_PREFIX = "org.checkerframework.";
+
+    /** {@code jdk.jfr.EventFactory.newEvent()}, or null if JFR is not available. */
+    private static final @Nullable Method NEW_EVENT;
+
+    /** {@code jdk.jfr.Event.isEnabled()}, or null if JFR is not available. */
+    private static final @Nullable Method IS_ENABLED;
+
+    /** {@code jdk.jfr.Event.begin()}, or null if JFR is not available. */
+    private static final @Nullable Method BEGIN;
+
+    /** {@code jdk.jfr.Event.end()}, or null if JFR is not available. */
+    private static final @Nullable Method END;
+
+    /** {@code jdk.jfr.Event.shouldCommit()}, or null if JFR is not available. */
+    private static final @Nullable Method SHOULD_COMMIT;
+
+    /** {@code jdk.jfr.Event.set(int, Object)}, or null if JFR is not available. */
+    private static final @Nullable Method SET;
+
+    /** {@code jdk.jfr.Event.commit()}, or null if JFR is not available. */
+    private static final @Nullable Method COMMIT;
+
+    static {
+        Method newEvent = null;
+        Method isEnabled = null;
+        Method begin = null;
+        Method end = null;
+        Method shouldCommit = null;
+        Method set = null;
+        Method commit = null;
+        try {
+            newEvent = Class.forName("jdk.jfr.EventFactory").getMethod("newEvent");
+            Class<?> eventClass = Class.forName("jdk.jfr.Event");
+            isEnabled = eventClass.getMethod("isEnabled");
+            begin = eventClass.getMethod("begin");
+            end = eventClass.getMethod("end");
+            shouldCommit = eventClass.getMethod("shouldCommit");
+            set = eventClass.getMethod("set", int.class, Object.class);
+            commit = eventClass.getMethod("commit");
+        } catch (ReflectiveOperationException | LinkageError e) {
+            newEvent = null;
+        }
+        NEW_EVENT = newEvent;
+        IS_ENABLED = isEnabled;
+        BEGIN = begin;
+        END = end;
+        SHOULD_COMMIT = shouldCommit;
+        SET = set;
+        COMMIT = commit;
+    }
+
+    // The kinds of events are declared after the static initializer above, which they use.
+
+    /** A checker type-checks a class, in {@code SourceChecker.typeProcess}. */
+    public static final FlightRecorderEvent CHECK_CLASS =
+            new FlightRecorderEvent(
+                    "CheckClass",
+                    "Check Class",
+                    "A checker type-checks a class",
+                    new String[] {"checker", "className"},
+                    String.class,
+                    String.class);
+
+    /** A type factory builds the control flow graph of a method, lambda, or initializer. */
+    public static final FlightRecorderEvent BUILD_CFG =
+            new FlightRecorderEvent(
+                    "BuildCFG",
+                    "Build CFG",
+                    "A type factory builds the control flow graph of a method",
+                    new String[] {"checker", "className", "method"},
+                    String.class,
+                    String.class,
+                    String.class);
+
+    /** A type factory runs dataflow analysis to a fixpoint over one control flow graph. */
+    public static final FlightRecorderEvent ANALYZE_FLOW =
+            new FlightRecorderEvent(
+                    "AnalyzeFlow",
+                    "Analyze Flow",
+                    "A type factory runs dataflow analysis of a method to a fixpoint",
+                    new String[] {"checker", "className", "method", "blocksAnalyzed"},
+                    String.class,
+                    String.class,
+                    String.class,
+                    int.class);
+
+    /** A stub file, or a file of the annotated JDK, is parsed. */
+    public static final FlightRecorderEvent PARSE_STUB_FILE =
+            new FlightRecorderEvent(
+                    "ParseStubFile",
+                    "Parse Stub File",
+                    "A stub file or annotated JDK file is parsed",
+                    new String[] {"file", "jdk"},
+                    String.class,
+                    boolean.class);
+
+    /** A type factory infers the type arguments of a method invocation. */
+    public static final FlightRecorderEvent INFER_TYPE_ARGUMENTS =
+            new FlightRecorderEvent(
+                    "InferTypeArguments",
+                    "Infer Type Arguments",
+                    "A type factory infers the type arguments of a method invocation",
+                    new String[] {"typeFactory", "method", "typeArguments"},
+                    String.class,
+                    String.class,
+                    int.class);
+
+    /**
+     * The {@code jdk.jfr.EventFactory} for this kind of event, or null if JFR is not available or
+     * the event type could not be registered.
+     */
+    private final @Nullable Object factory;
+
+    /**
+     * Creates and registers a kind of event.
+     *
+     * @param name the name of the event, without {@link #NAME_PREFIX}
+     * @param label the human-readable name of the event
+     * @param description a description of the event
+     * @param fieldNames the names of the fields of the event
+     * @param fieldTypes the types of the fields of the event, which must be String or primitive
+     */
+    private FlightRecorderEvent(
+            String name,
+            String label,
+            String description,
+            String[] fieldNames,
+            Class<?>... fieldTypes) {
+        this.factory =
+                NEW_EVENT == null
+                        ? null
+                        : createFactory(name, label, description, fieldNames, fieldTypes);
+    }
+
+    /**
+     * Creates a {@code jdk.jfr.EventFactory}, which registers the event type with JFR.
+     *
+     * @param name the name of the event, without {@link #NAME_PREFIX}
+     * @param label the human-readable name of the event
+     * @param description a description of the event
+     * @param fieldNames the names of the fields of the event
+     * @param fieldTypes the types of the fields of the event
+     * @return the event factory, or null if it could not be created
+     */
+    private static @Nullable Object createFactory(
+            String name,
+            String label,
+            String description,
+            String[] fieldNames,
+            Class<?>[] fieldTypes) {
+        try {
+            Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+            Constructor<?> annotationElement =
+                    annotationElementClass.getConstructor(Class.class, Object.class);
+            List<Object> annotations = new ArrayList<>();
+            annotations.add(
+                    annotationElement.newInstance(
+                            annotationClass("jdk.jfr.Name"), NAME_PREFIX + name));
+            annotations.add(annotationElement.newInstance(annotationClass("jdk.jfr.Label"), label));
+            annotations.add(
+                    annotationElement.newInstance(
+                            annotationClass("jdk.jfr.Description"), description));
+            annotations.add(
+                    annotationElement.newInstance(
+                            annotationClass("jdk.jfr.Category"), new String[] {CATEGORY}));
+            // The stack trace would show only the reflective call of commit.
+            annotations.add(
+                    annotationElement.newInstance(annotationClass("jdk.jfr.StackTrace"), false));
+
+            Constructor<?> valueDescriptor =
+                    Class.forName("jdk.jfr.ValueDescriptor")
+                            .getConstructor(Class.class, String.class);
+            List<Object> fields = new ArrayList<>();
+            for (int i = 0; i < fieldNames.length; i++) {
+                fields.add(valueDescriptor.newInstance(fieldTypes[i], fieldNames[i]));
+            }
+
+            return Class.forName("jdk.jfr.EventFactory")
+                    .getMethod("create", List.class, List.class)
+                    .invoke(
+                            null,
+                            Collections.unmodifiableList(annotations),
+                            Collections.unmodifiableList(fields));
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the JFR annotation with the given name.
+     *
+     * @param name the fully-qualified name of a JFR annotation
+     * @return the annotation class
+     * @throws ClassNotFoundException if JFR is not available
+     */
+    private static Class<? extends Annotation> annotationClass(String name)
+            throws ClassNotFoundException {
+        return Class.forName(name).asSubclass(Annotation.class);
+    }
+
+    /**
+     * Begins an event of this kind, if it is being recorded.
+     *
+     * @return the event, which must be passed to {@link #commit}, or null if it is not being
+     *     recorded
+     */
+    @SuppressWarnings("nullness") // the methods are non-null if factory is
+    public @Nullable Object begin() {
+        if (factory == null) {
+            return null;
+        }
+        try {
+            Object event = NEW_EVENT.invoke(factory);
+            if (!(Boolean) IS_ENABLED.invoke(event)) {
+                return null;
+            }
+            BEGIN.invoke(event);
+            return event;
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Ends an event that was returned by {@link #begin}, and records it if it passes the
+     * recording's settings, such as its threshold.
+     *
+     * @param event an event returned by {@link #begin}
+     * @param values the values of the fields of the event, in the order in which they were declared
+     */
+    @SuppressWarnings("nullness") // the methods are non-null if an event was begun
+    public void commit(Object event, Object... values) {
+        try {
+            END.invoke(event);
+            if (!(Boolean) SHOULD_COMMIT.invoke(event)) {
+                return;
+            }
+            for (int i = 0; i < values.length; i++) {
+                SET.invoke(event, i, values[i]);
+            }
+            COMMIT.invoke(event);
+        } catch (ReflectiveOperationException e) {
+            // The event is lost; the compilation is unaffected.
+        }
+    }
+}
@@ -56,6 +56,7 @@ import org.checkerframework.dataflow.cfg.node.ObjectCreationNode;
 import org.checkerframework.framework.source.DiagMessage;
 import org.checkerframework.framework.type.AnnotatedTypeFactory;
 import org.checkerframework.framework.util.dependenttypes.DependentTypesError;
+import org.checkerframework.javacutil.CollectionUtils;
 import org.checkerframework.javacutil.ElementUtils;
 import org.checkerframework.javacutil.Resolver;
 import org.checkerframework.javacutil.TreeUtils;
@@ -66,6 +67,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.StringJoiner;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -108,6 +110,19 @@ public class FlowExpressionParseUtil {
 
     private static final int PARAMETER_REPLACEMENT_LENGTH = PARMETER_REPLACEMENT.length();
 
+    /** The maximum number of entries in {@link #parsedExpressionCache}. */
+    private static final int PARSED_EXPRESSION_CACHE_SIZE = 500;
+
+    /**
+     * Maps an expression string to the JavaParser AST parsed from it. The same strings are parsed
+     * at every use of an annotation or contract that contains them, but the AST does not depend on
+     * the context in which the string is used. The ASTs are only read, never modified. Synchronized
+     * because the cache is shared by checkers running on different threads.
+     */
+    private static final Map<String, Expression> parsedExpressionCache =
+            Collections.synchronizedMap(
+                    CollectionUtils.createLRUCache(PARSED_EXPRESSION_CACHE_SIZE));
+
     /**
      * Parse a string and return its representation as a {@link Receiver}, or throw an {@link
      * FlowExpressionParseException}.
@@ -125,12 +140,7 @@ public class FlowExpressionParseUtil {
             throws FlowExpressionParseException {
         context = context.copyAndSetUseLocalScope(useLocalScope);
         ProcessingEnvironment env = context.checkerContext.getProcessingEnvironment();
-        Expression expr;
-        try {
-            expr = StaticJavaParser.parseExpression(replaceParameterSyntax(expression));
-        } catch (ParseProblemException e) {
-            throw constructParserException(expression, "is an invalid expression");
-        }
+        Expression expr = parseExpression(expression);
 
         Receiver result;
         try {
@@ -155,6 +165,28 @@ public class FlowExpressionParseUtil {
         return result;
     }
 
+    /**
+     * Parses {@code expression} into a JavaParser AST, or returns a cached AST if the same string
+     * has already been parsed. The result must not be modified.
+     *
+     * @param expression flow expression to parse
+     * @return the JavaParser AST for {@code expression}
+     * @throws FlowExpressionParseException if {@code expression} is not a Java expression
+     */
+    private static Expression parseExpression(String expression)
+            throws FlowExpressionParseException {
+        Expression expr = parsedExpressionCache.get(expression);
+        if (expr == null) {
+            try {
+                expr = StaticJavaParser.parseExpression(replaceParameterSyntax(expression));
+            } catch (ParseProblemException e) {
+                throw constructParserException(expression, "is an invalid expression");
+            }
+            parsedExpressionCache.put(expression, expr);
+        }
+        return expr;
+    }
+
     /**
      * Replaces every occurrence of "#(number)" with "PARAMETER_REPLACEMENT(number)" where number is
      * an index of a parameter.
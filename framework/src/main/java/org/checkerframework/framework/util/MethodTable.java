@@ -0,0 +1,133 @@
+package org.checkerframework.framework.util;
+
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.Tree;
+
+import org.checkerframework.javacutil.ElementUtils;
+import org.checkerframework.javacutil.TreeUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ExecutableElement;
+
+/**
+ * Maps the methods that a checker handles specially to tags that identify them, such as the
+ * constants of an enum.
+ *
+ * <p>Determining whether an invoked method is, or overrides, one of the special methods requires
+ * comparing it with each of them, and an override check is expensive. This table performs those
+ * comparisons once per invoked method and remembers the result, so identifying the method of an
+ * invocation that has been seen before is a single hash lookup.
+ *
+ * <p>Use a MethodTable only for special methods that can be overridden. A static, private, or final
+ * method, or a method of a final class such as String, is compared with the invoked method more
+ * cheaply by identity.
+ *
+ * @param <T> the type of the tags
+ */
+public class MethodTable<T> {
+
+    /** The processing environment, used to determine whether a method overrides another. */
+    private final ProcessingEnvironment env;
+
+    /** Maps each special method to its tags. */
+    private final Map<ExecutableElement, Set<T>> methodTags = new LinkedHashMap<>();
+
+    /**
+     * Maps each method that has been looked up to the tags of the special methods that it is or
+     * overrides. Cleared when a special method is added.
+     */
+    private final Map<ExecutableElement, Set<T>> invokedMethodTags = new HashMap<>();
+
+    /**
+     * Creates an empty MethodTable.
+     *
+     * @param env the processing environment
+     */
+    public MethodTable(ProcessingEnvironment env) {
+        this.env = env;
+    }
+
+    /**
+     * Adds a special method. A method that is, or overrides, {@code method} has the tag {@code
+     * tag}.
+     *
+     * @param method a special method
+     * @param tag the tag of {@code method}
+     * @return this
+     */
+    public MethodTable<T> add(ExecutableElement method, T tag) {
+        methodTags.computeIfAbsent(method, m -> new HashSet<>()).add(tag);
+        invokedMethodTags.clear();
+        return this;
+    }
+
+    /**
+     * Adds special methods that all have the same tag.
+     *
+     * @param methods special methods
+     * @param tag the tag of each of {@code methods}
+     * @return this
+     */
+    public MethodTable<T> addAll(Collection<ExecutableElement> methods, T tag) {
+        for (ExecutableElement method : methods) {
+            add(method, tag);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the tags of the special methods that {@code method} is or overrides.
+     *
+     * @param method a method
+     * @return the tags of {@code method}, which are empty if {@code method} is not special
+     */
+    public Set<T> getTags(ExecutableElement method) {
+        Set<T> tags = invokedMethodTags.get(method);
+        if (tags == null) {
+            tags = new HashSet<>();
+            for (Map.Entry<ExecutableElement, Set<T>> entry : methodTags.entrySet()) {
+                if (ElementUtils.isMethod(method, entry.getKey(), env)) {
+                    tags.addAll(entry.getValue());
+                }
+            }
+            tags = tags.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(tags);
+            invokedMethodTags.put(method, tags);
+        }
+        return tags;
+    }
+
+    /**
+     * Returns true if {@code method} is, or overrides, a special method with the tag {@code tag}.
+     *
+     * @param method a method
+     * @param tag a tag
+     * @return true if {@code method} has the tag {@code tag}
+     */
+    public boolean hasTag(ExecutableElement method, T tag) {
+        return getTags(method).contains(tag);
+    }
+
+    /**
+     * Returns true if {@code tree} is an invocation of a method that is, or overrides, a special
+     * method with the tag {@code tag}.
+     *
+     * @param tree a tree
+     * @param tag a tag
+     * @return true if {@code tree} invokes a method that has the tag {@code tag}
+     */
+    public boolean isInvocation(Tree tree, T tag) {
+        if (!(tree instanceof MethodInvocationTree)) {
+            return false;
+        }
+        ExecutableElement invoked = TreeUtils.elementFromUse((MethodInvocationTree) tree);
+        return invoked != null && hasTag(invoked, tag);
+    }
+}
@@ -0,0 +1,251 @@
+package org.checkerframework.framework.util;
+
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+import com.sun.source.util.Trees;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.dataflow.qual.Deterministic;
+import org.checkerframework.dataflow.qual.Pure;
+import org.checkerframework.dataflow.qual.SideEffectFree;
+import org.checkerframework.dataflow.util.PurityChecker;
+import org.checkerframework.dataflow.util.PurityChecker.PurityResult;
+import org.checkerframework.dataflow.util.PurityUtils;
+import org.checkerframework.framework.type.AnnotatedTypeFactory;
+import org.checkerframework.javacutil.AnnotationBuilder;
+import org.checkerframework.javacutil.AnnotationProvider;
+import org.checkerframework.javacutil.TreeUtils;
+
+import java.lang.annotation.Annotation;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Infers whether methods that have no purity annotation are side-effect-free or deterministic, by
+ * running the {@link PurityChecker} on their bodies. Used when the {@code -AinferPurity}
+ * command-line option is supplied.
+ *
+ * <p>Only methods whose source code is part of the current compilation and that cannot be
+ * overridden (static, private, and final methods, methods of final classes, and constructors) are
+ * inferred, because a call to any other method might dispatch to an impure override. Calls within
+ * an inferred body are themselves resolved with this class, so purity is propagated along the call
+ * graph. A method that is (directly or indirectly) recursive is conservatively treated as impure.
+ *
+ * <p>The result for each method is computed at most once per compilation. An explicitly-written
+ * purity annotation always takes precedence over an inferred one.
+ *
+ * <p>This class is also an {@link AnnotationProvider} that reports inferred purity as if it had
+ * been written as a {@link Pure}, {@link SideEffectFree}, or {@link Deterministic} annotation; that
+ * is how it is passed to the {@link PurityChecker}.
+ *
+ * @checker_framework.manual #type-refinement-purity Side effects, determinism, purity, and
+ *     flow-sensitive analysis
+ */
+public class PurityInference implements AnnotationProvider {
+
+    /** The type factory used to look up declaration annotations. */
+    protected final AnnotatedTypeFactory factory;
+
+    /** Used to find the source code of a method. */
+    private final Trees trees;
+
+    /** The {@link Pure} annotation. */
+    private final AnnotationMirror PURE;
+
+    /** The {@link SideEffectFree} annotation. */
+    private final AnnotationMirror SIDE_EFFECT_FREE;
+
+    /** The {@link Deterministic} annotation. */
+    private final AnnotationMirror DETERMINISTIC;
+
+    /**
+     * Maps a method to its inferred purity kinds. A method whose body is being analyzed maps to the
+     * empty set, so that recursive calls are treated as impure.
+     */
+    private final Map<ExecutableElement, EnumSet<Pure.Kind>> inferredKinds = new HashMap<>();
+
+    /**
+     * Creates a PurityInference.
+     *
+     * @param factory the type factory used to look up declaration annotations
+     */
+    public PurityInference(AnnotatedTypeFactory factory) {
+        this.factory = factory;
+        this.trees = factory.getTreeUtils();
+        this.PURE = AnnotationBuilder.fromClass(factory.getElementUtils(), Pure.class);
+        this.SIDE_EFFECT_FREE =
+                AnnotationBuilder.fromClass(factory.getElementUtils(), SideEffectFree.class);
+        this.DETERMINISTIC =
+                AnnotationBuilder.fromClass(factory.getElementUtils(), Deterministic.class);
+    }
+
+    /**
+     * Is the method {@code method} side-effect-free, either by annotation or by inference?
+     *
+     * @param method a method to test
+     * @return whether the method is side-effect-free
+     */
+    public boolean isSideEffectFree(ExecutableElement method) {
+        return PurityUtils.isSideEffectFree(this, method);
+    }
+
+    @Override
+    public @Nullable AnnotationMirror getDeclAnnotation(
+            Element elt, Class<? extends Annotation> anno) {
+        if (elt == null) {
+            // The PurityChecker passes the element of an unresolved method invocation.
+            return null;
+        }
+        AnnotationMirror declared = factory.getDeclAnnotation(elt, anno);
+        if (declared != null
+                || !(elt instanceof ExecutableElement)
+                || PurityUtils.hasPurityAnnotation(factory, elt)) {
+            return declared;
+        }
+
+        EnumSet<Pure.Kind> kinds = getInferredPurityKinds((ExecutableElement) elt);
+        if (anno == Pure.class) {
+            return kinds.size() == 2 ? PURE : null;
+        } else if (anno == SideEffectFree.class) {
+            return kinds.contains(Pure.Kind.SIDE_EFFECT_FREE) ? SIDE_EFFECT_FREE : null;
+        } else if (anno == Deterministic.class) {
+            return kinds.contains(Pure.Kind.DETERMINISTIC) ? DETERMINISTIC : null;
+        }
+        return null;
+    }
+
+    @Override
+    public @Nullable AnnotationMirror getAnnotationMirror(
+            Tree tree, Class<? extends Annotation> target) {
+        return factory.getAnnotationMirror(tree, target);
+    }
+
+    /**
+     * Returns the inferred purity kinds of {@code method}, which has no purity annotation.
+     *
+     * @param method a method without a purity annotation
+     * @return the kinds of purity that {@code method} is known to have
+     */
+    private EnumSet<Pure.Kind> getInferredPurityKinds(ExecutableElement method) {
+        EnumSet<Pure.Kind> kinds = inferredKinds.get(method);
+        if (kinds != null) {
+            return kinds;
+        }
+        inferredKinds.put(method, EnumSet.noneOf(Pure.Kind.class));
+        kinds = inferPurityKinds(method);
+        if (kinds == null) {
+            // The method cannot be analyzed yet; try again on the next request.
+            inferredKinds.remove(method);
+            return EnumSet.noneOf(Pure.Kind.class);
+        }
+        inferredKinds.put(method, kinds);
+        return kinds;
+    }
+
+    /**
+     * Runs the {@link PurityChecker} on the body of {@code method}.
+     *
+     * @param method a method without a purity annotation
+     * @return the kinds of purity of {@code method}, or null if its body has not yet been
+     *     attributed by the compiler
+     */
+    private @Nullable EnumSet<Pure.Kind> inferPurityKinds(ExecutableElement method) {
+        if (!cannotBeOverridden(method)) {
+            return EnumSet.noneOf(Pure.Kind.class);
+        }
+        TreePath methodPath = trees.getPath(method);
+        if (methodPath == null || !(methodPath.getLeaf() instanceof MethodTree)) {
+            return EnumSet.noneOf(Pure.Kind.class);
+        }
+        BlockTree body = ((MethodTree) methodPath.getLeaf()).getBody();
+        if (body == null) {
+            return EnumSet.noneOf(Pure.Kind.class);
+        }
+        if (!isAttributed(body)) {
+            return null;
+        }
+
+        PurityResult result =
+                PurityChecker.checkPurity(new TreePath(methodPath, body), this, false, false);
+        EnumSet<Pure.Kind> kinds = result.getKinds().clone();
+        if (method.getKind() == ElementKind.CONSTRUCTOR) {
+            // @Deterministic makes no sense for a constructor.
+            kinds.remove(Pure.Kind.DETERMINISTIC);
+        }
+        return kinds;
+    }
+
+    /**
+     * Returns true if every call of {@code method} invokes the body of {@code method} itself.
+     *
+     * @param method a method or constructor
+     * @return true if {@code method} cannot be overridden
+     */
+    private static boolean cannotBeOverridden(ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.NATIVE)) {
+            return false;
+        }
+        return method.getKind() == ElementKind.CONSTRUCTOR
+                || modifiers.contains(Modifier.STATIC)
+                || modifiers.contains(Modifier.PRIVATE)
+                || modifiers.contains(Modifier.FINAL)
+                || method.getEnclosingElement().getModifiers().contains(Modifier.FINAL);
+    }
+
+    /**
+     * Returns true if the compiler has resolved every name and invocation in {@code tree}. Method
+     * bodies in a class that javac has not yet attributed must not be analyzed.
+     *
+     * @param tree a tree
+     * @return true if the elements of all uses in {@code tree} are known
+     */
+    private static boolean isAttributed(Tree tree) {
+        Boolean attributed =
+                new TreeScanner<Boolean, Void>() {
+                    @Override
+                    public Boolean reduce(Boolean r1, Boolean r2) {
+                        return (r1 == null || r1) && (r2 == null || r2);
+                    }
+
+                    @Override
+                    public Boolean visitMethodInvocation(MethodInvocationTree node, Void p) {
+                        return TreeUtils.elementFromUse(node) != null
+                                && reduce(true, super.visitMethodInvocation(node, p));
+                    }
+
+                    @Override
+                    public Boolean visitNewClass(NewClassTree node, Void p) {
+                        return TreeUtils.elementFromUse(node) != null
+                                && reduce(true, super.visitNewClass(node, p));
+                    }
+
+                    @Override
+                    public Boolean visitIdentifier(IdentifierTree node, Void p) {
+                        return TreeUtils.elementFromUse(node) != null;
+                    }
+
+                    @Override
+                    public Boolean visitMemberSelect(MemberSelectTree node, Void p) {
+                        return TreeUtils.elementFromUse(node) != null
+                                && reduce(true, super.visitMemberSelect(node, p));
+                    }
+                }.scan(tree, null);
+        return attributed == null || attributed;
+    }
+}
@@ -46,12 +46,14 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
 
 import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
@@ -89,14 +91,23 @@ public class DependentTypesHelper {
     /** A map of annotation classes to the names of their elements that are Java expressions. */
     private Map<Class<? extends Annotation>, List<String>> annoToElements;
 
+    /**
+     * A map of the canonical names of the annotation classes in {@link #annoToElements} to the
+     * names of their elements that are Java expressions. Used to look up an AnnotationMirror
+     * without comparing it to every annotation class.
+     */
+    private Map<String, List<String>> annoNameToElements;
+
     public DependentTypesHelper(AnnotatedTypeFactory factory) {
         this.factory = factory;
 
         this.annoToElements = new HashMap<>();
+        this.annoNameToElements = new HashMap<>();
         for (Class<? extends Annotation> expressionAnno : factory.getSupportedTypeQualifiers()) {
             List<String> elementList = getExpressionElementNames(expressionAnno);
             if (elementList != null && !elementList.isEmpty()) {
                 annoToElements.put(expressionAnno, elementList);
+                annoNameToElements.put(expressionAnno.getCanonicalName(), elementList);
             }
         }
     }
@@ -594,17 +605,20 @@ public class DependentTypesHelper {
         return standardizeDependentTypeAnnotation(context, localScope, anno, useLocalScope);
     }
 
-    /** Standardizes a dependent type annotation. */
+    /**
+     * Standardizes a dependent type annotation. If standardization does not change any of its
+     * expressions, and all of them are written explicitly in {@code anno}, then {@code anno} itself
+     * is returned rather than an equal copy.
+     */
     private AnnotationMirror standardizeDependentTypeAnnotation(
             FlowExpressionContext context,
             TreePath localScope,
             AnnotationMirror anno,
             boolean useLocalScope) {
-        AnnotationBuilder builder =
-                new AnnotationBuilder(
-                        factory.getProcessingEnv(), AnnotationUtils.annotationName(anno));
-
-        for (String value : getListOfExpressionElements(anno)) {
+        List<String> expressionElements = getListOfExpressionElements(anno);
+        Map<String, List<String>> standardizedValues = new HashMap<>();
+        boolean unchanged = hasExactlyExplicitElements(anno, expressionElements);
+        for (String value : expressionElements) {
             List<String> expressionStrings =
                     AnnotationUtils.getElementValueArray(anno, value, String.class, true);
             List<String> standardizedStrings = new ArrayList<>();
@@ -612,17 +626,60 @@ public class DependentTypesHelper {
                 standardizedStrings.add(
                         standardizeString(expression, context, localScope, useLocalScope));
             }
-            builder.setValue(value, standardizedStrings);
+            unchanged = unchanged && standardizedStrings.equals(expressionStrings);
+            standardizedValues.put(value, standardizedStrings);
+        }
+        if (unchanged) {
+            return anno;
+        }
+
+        AnnotationBuilder builder =
+                new AnnotationBuilder(
+                        factory.getProcessingEnv(), AnnotationUtils.annotationName(anno));
+        for (String value : expressionElements) {
+            builder.setValue(value, standardizedValues.get(value));
         }
         return builder.build();
     }
 
+    /**
+     * Returns true if the elements that are explicitly set in {@code anno} are exactly {@code
+     * elementNames}. An annotation built from values for {@code elementNames} alone is then the
+     * same as {@code anno} if the values are the same.
+     *
+     * @param anno an annotation
+     * @param elementNames names of elements of {@code anno}
+     * @return true if exactly the elements named by {@code elementNames} are set in {@code anno}
+     */
+    private boolean hasExactlyExplicitElements(AnnotationMirror anno, List<String> elementNames) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> explicitValues =
+                anno.getElementValues();
+        if (explicitValues.size() != elementNames.size()) {
+            return false;
+        }
+        for (ExecutableElement element : explicitValues.keySet()) {
+            if (!elementNames.contains(element.getSimpleName().toString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private class StandardizeTypeAnnotator extends AnnotatedTypeScanner<Void, Void> {
         private final FlowExpressionContext context;
         private final TreePath localScope;
         /** Whether or not the expression might contain a variable declared in local scope. */
         private final boolean useLocalScope;
 
+        /**
+         * Maps each annotation that has been standardized by this annotator to the result, which is
+         * null if the annotation is not a dependent type annotation. The same annotation object
+         * often appears on several parts of a type, and the result depends only on the annotation
+         * and on this annotator's context.
+         */
+        private final Map<AnnotationMirror, AnnotationMirror> standardized =
+                new IdentityHashMap<>();
+
         private StandardizeTypeAnnotator(
                 FlowExpressionContext context, TreePath localScope, boolean useLocalScope) {
             this.context = context;
@@ -658,9 +715,15 @@ public class DependentTypesHelper {
         protected Void scan(AnnotatedTypeMirror type, Void aVoid) {
             List<AnnotationMirror> newAnnos = new ArrayList<>();
             for (AnnotationMirror anno : type.getAnnotations()) {
-                AnnotationMirror annotationMirror =
-                        standardizeAnnotationIfDependentType(
-                                context, localScope, anno, useLocalScope);
+                AnnotationMirror annotationMirror;
+                if (standardized.containsKey(anno)) {
+                    annotationMirror = standardized.get(anno);
+                } else {
+                    annotationMirror =
+                            standardizeAnnotationIfDependentType(
+                                    context, localScope, anno, useLocalScope);
+                    standardized.put(anno, annotationMirror);
+                }
                 if (annotationMirror != null) {
                     newAnnos.add(annotationMirror);
                 }
@@ -818,12 +881,7 @@ public class DependentTypesHelper {
      * @return true if {@code am} is an expression annotation
      */
     private boolean isExpressionAnno(AnnotationMirror am) {
-        for (Class<? extends Annotation> clazz : annoToElements.keySet()) {
-            if (factory.areSameByClass(am, clazz)) {
-                return true;
-            }
-        }
-        return false;
+        return annoNameToElements.containsKey(AnnotationUtils.annotationName(am));
     }
 
     /**
@@ -909,7 +967,7 @@ public class DependentTypesHelper {
      * check avoids calling time intensive methods unless absolutely required.)
      */
     private boolean hasDependentType(AnnotatedTypeMirror atm) {
-        if (atm == null) {
+        if (atm == null || annoToElements.isEmpty()) {
             return false;
         }
         boolean b =
@@ -932,11 +990,7 @@ public class DependentTypesHelper {
      *     if there aren't any
      */
     private List<String> getListOfExpressionElements(AnnotationMirror am) {
-        for (Class<? extends Annotation> clazz : annoToElements.keySet()) {
-            if (factory.areSameByClass(am, clazz)) {
-                return annoToElements.get(clazz);
-            }
-        }
-        return Collections.emptyList();
+        List<String> elements = annoNameToElements.get(AnnotationUtils.annotationName(am));
+        return elements == null ? Collections.emptyList() : elements;
     }
 }
@@ -0,0 +1,75 @@
+package tests;
+
+import org.checkerframework.framework.test.FrameworkPerDirectoryTest;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runners.Parameterized.Parameters;
+
+import testlib.aggregate.TestAggregateChecker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/** Tests that an aggregate checker writes the baseline entries of all of its checkers. */
+public class AggregateBaselineTest extends FrameworkPerDirectoryTest {
+
+    /** Holds the baseline written by the test. */
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    /** @param testFiles the files containing test code, which will be type-checked */
+    public AggregateBaselineTest(List<File> testFiles) {
+        super(testFiles, TestAggregateChecker.class, "aggregate-baseline", "-Anomsgtext");
+    }
+
+    @Parameters
+    public static String[] getTestDirs() {
+        return new String[] {"aggregate-baseline"};
+    }
+
+    /**
+     * Returns the file to which the baseline entries are written.
+     *
+     * @return the file given by {@code -AbaselineOutput}
+     */
+    private File getBaselineOutput() {
+        return new File(folder.getRoot(), "output.tsv");
+    }
+
+    @Override
+    public List<String> customizeOptions(List<String> previousOptions) {
+        List<String> options = new ArrayList<>(previousOptions);
+        options.add("-AbaselineOutput=" + getBaselineOutput());
+        return options;
+    }
+
+    @Override
+    public void run() {
+        super.run();
+        List<String> entries;
+        try {
+            entries = Files.readAllLines(getBaselineOutput().toPath(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<String> keysAndSignatures = new ArrayList<>();
+        for (String entry : entries) {
+            String[] fields = entry.split("\t", -1);
+            Assert.assertEquals(entry, 3, fields.length);
+            Assert.assertTrue(
+                    entry, fields[0].endsWith("aggregate-baseline/AggregateBaseline.java"));
+            keysAndSignatures.add(fields[1] + "\t" + fields[2]);
+        }
+        Assert.assertEquals(
+                Arrays.asList(
+                        "assignment.type.incompatible\tAggregateBaseline#s",
+                        "unique.location.forbidden\tAggregateBaseline#array"),
+                keysAndSignatures);
+    }
+}
@@ -0,0 +1,152 @@
+package tests;
+
+import org.checkerframework.framework.util.CheckerDaemon;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/** Tests the protocol between {@link CheckerDaemon} and its clients. */
+public class CheckerDaemonTest {
+
+    /** The java arguments that the daemon under test was started with. */
+    private static final List<String> JAVA_ARGS = Arrays.asList("java", "-Xmx1g");
+
+    /** The home directory during a test, which contains the token file of the daemon. */
+    @Rule public TemporaryFolder home = new TemporaryFolder();
+
+    /** The value of the user.home property before the test. */
+    private String originalHome;
+
+    /** The daemon under test. */
+    private CheckerDaemon daemon;
+
+    /** The thread that runs {@link #daemon}. */
+    private Thread daemonThread;
+
+    /**
+     * Starts a daemon on a free port.
+     *
+     * @throws IOException if the daemon cannot be started
+     */
+    @Before
+    public void startDaemon() throws IOException {
+        originalHome = System.getProperty("user.home");
+        System.setProperty("user.home", home.getRoot().getPath());
+        daemon = new CheckerDaemon(0, JAVA_ARGS);
+        daemonThread =
+                new Thread(
+                        () -> {
+                            try {
+                                daemon.run();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+        daemonThread.start();
+    }
+
+    /**
+     * Stops the daemon.
+     *
+     * @throws InterruptedException if interrupted while waiting for the daemon to stop
+     */
+    @After
+    public void stopDaemon() throws InterruptedException {
+        daemon.stop();
+        daemonThread.join();
+        System.setProperty("user.home", originalHome);
+    }
+
+    @Test
+    public void compileReturnsDiagnosticsAndExitStatus() throws IOException {
+        File source = home.newFile("Bad.java");
+        Files.write(
+                source.toPath(), "class Bad { String s = 1; }".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int exitStatus =
+                CheckerDaemon.compile(
+                        daemon.getPort(),
+                        JAVA_ARGS,
+                        Arrays.asList("-d", home.getRoot().getPath(), source.getPath()),
+                        new PrintStream(output, true, "UTF-8"));
+        Assert.assertEquals(1, exitStatus);
+        String diagnostics = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        Assert.assertTrue(diagnostics, diagnostics.contains("Bad.java:1: error:"));
+    }
+
+    @Test
+    public void refusesDifferentJavaArguments() throws IOException {
+        int exitStatus =
+                CheckerDaemon.compile(
+                        daemon.getPort(),
+                        Arrays.asList("java", "-Xmx2g"),
+                        Collections.singletonList("-version"),
+                        new PrintStream(new ByteArrayOutputStream()));
+        Assert.assertEquals(CheckerDaemon.REFUSED, exitStatus);
+    }
+
+    @Test
+    public void refusesDifferentWorkingDirectory() throws IOException {
+        String workingDirectory = System.getProperty("user.dir");
+        System.setProperty("user.dir", home.getRoot().getPath());
+        int exitStatus;
+        try {
+            exitStatus =
+                    CheckerDaemon.compile(
+                            daemon.getPort(),
+                            JAVA_ARGS,
+                            Collections.singletonList("-version"),
+                            new PrintStream(new ByteArrayOutputStream()));
+        } finally {
+            System.setProperty("user.dir", workingDirectory);
+        }
+        Assert.assertEquals(CheckerDaemon.REFUSED, exitStatus);
+    }
+
+    @Test
+    public void ignoresWrongToken() throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemon.getPort())) {
+            socket.setSoTimeout(10 * 1000);
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeUTF("not the token");
+            out.flush();
+            // The daemon closes the connection without answering.
+            Assert.assertEquals(-1, new DataInputStream(socket.getInputStream()).read());
+        }
+    }
+
+    @Test
+    public void tokenIsPrivate() throws IOException {
+        Assume.assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path directory = home.getRoot().toPath().resolve(".checkerframework");
+        Assert.assertEquals(
+                "rwx------",
+                PosixFilePermissions.toString(Files.getPosixFilePermissions(directory)));
+        Path tokenFile = directory.resolve("daemon-" + daemon.getPort() + ".token");
+        Assert.assertEquals(
+                "rw-------",
+                PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenFile)));
+    }
+}
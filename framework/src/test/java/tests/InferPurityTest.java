@@ -0,0 +1,27 @@
+package tests;
+
+import org.checkerframework.framework.test.FrameworkPerDirectoryTest;
+import org.junit.runners.Parameterized.Parameters;
+
+import testlib.util.FlowTestChecker;
+
+import java.io.File;
+import java.util.List;
+
+/** Tests the {@code -AinferPurity} command-line argument. */
+public class InferPurityTest extends FrameworkPerDirectoryTest {
+
+    /**
+     * Create an InferPurityTest.
+     *
+     * @param testFiles the files containing test code, which will be type-checked
+     */
+    public InferPurityTest(List<File> testFiles) {
+        super(testFiles, FlowTestChecker.class, "flow", "-Anomsgtext", "-AinferPurity");
+    }
+
+    @Parameters
+    public static String[] getTestDirs() {
+        return new String[] {"infer-purity"};
+    }
+}
@@ -0,0 +1,27 @@
+package tests;
+
+import org.checkerframework.framework.test.FrameworkPerDirectoryTest;
+import org.junit.runners.Parameterized.Parameters;
+
+import testlib.util.FlowTestChecker;
+
+import java.io.File;
+import java.util.List;
+
+/** Runs the flow tests with the {@code -AlazyFlowAnalysis} command-line argument. */
+public class LazyFlowAnalysisTest extends FrameworkPerDirectoryTest {
+
+    /**
+     * Create a LazyFlowAnalysisTest.
+     *
+     * @param testFiles the files containing test code, which will be type-checked
+     */
+    public LazyFlowAnalysisTest(List<File> testFiles) {
+        super(testFiles, FlowTestChecker.class, "flow", "-Anomsgtext", "-AlazyFlowAnalysis");
+    }
+
+    @Parameters
+    public static String[] getTestDirs() {
+        return new String[] {"flow", "all-systems"};
+    }
+}
@@ -0,0 +1,10 @@
+import org.checkerframework.common.aliasing.qual.Unique;
+import org.checkerframework.common.value.qual.StringVal;
+
+// Checked with -AbaselineOutput; the entries for the errors of both checkers are written.
+public class AggregateBaseline {
+    // :: error: (unique.location.forbidden)
+    @Unique String[] array;
+    // :: error: (assignment.type.incompatible)
+    @StringVal("hello") String s = "goodbye";
+}
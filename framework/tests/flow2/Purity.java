@@ -10,6 +10,8 @@ class Purity {
 
     String f1, f2, f3;
     String[] a;
+    int count;
+    int[] counts;
 
     // class with a (potentially) non-pure constructor
     private static class NonPureClass {}
@@ -229,6 +231,18 @@ class Purity {
         return t16c(); // Calling a @Deterministic method
     }
 
+    @SideEffectFree
+    void t17c(Purity l) {
+        // :: error: (purity.not.sideeffectfree.assign.field)
+        this.count++;
+        // :: error: (purity.not.sideeffectfree.assign.field)
+        --l.count;
+        // :: error: (purity.not.sideeffectfree.assign.array)
+        counts[0]--;
+        int i = 0;
+        i++;
+    }
+
     // @Pure annotations on the overridden implementation.
     class Super {
         @Pure
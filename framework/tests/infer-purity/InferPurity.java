@@ -0,0 +1,59 @@
+import testlib.util.*;
+
+// Calls to unannotated methods whose purity can be inferred do not discard refined field types.
+class InferPurity {
+
+    String f;
+
+    int counter;
+
+    private int helper(int x) {
+        return x + 1;
+    }
+
+    private int callsHelper(int x) {
+        return helper(x) * 2;
+    }
+
+    private void impureHelper() {
+        counter++;
+    }
+
+    private int recursive(int x) {
+        return x == 0 ? 0 : recursive(x - 1);
+    }
+
+    // Might be overridden by an impure method.
+    int overridable(int x) {
+        return x + 1;
+    }
+
+    void sideEffectFreeCalls(@Odd String p) {
+        f = p;
+        helper(1);
+        @Odd String a = f;
+        callsHelper(1);
+        @Odd String b = f;
+    }
+
+    void sideEffectingCall(@Odd String p) {
+        f = p;
+        impureHelper();
+        // :: error: (assignment.type.incompatible)
+        @Odd String a = f;
+    }
+
+    void recursiveCall(@Odd String p) {
+        f = p;
+        recursive(1);
+        // :: error: (assignment.type.incompatible)
+        @Odd String a = f;
+    }
+
+    void overridableCall(@Odd String p) {
+        f = p;
+        overridable(1);
+        // :: error: (assignment.type.incompatible)
+        @Odd String a = f;
+    }
+}
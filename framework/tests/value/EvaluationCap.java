@@ -0,0 +1,34 @@
+import org.checkerframework.common.value.qual.*;
+
+// A statically executable call with more than 1000 combinations of argument values is not
+// evaluated, but its result still gets the range of its type.
+class EvaluationCap {
+
+    @StaticallyExecutable
+    public static byte sum(byte a, byte b, byte c, byte d) {
+        return (byte) (a + b + c + d);
+    }
+
+    @StaticallyExecutable
+    public static String concat(String a, String b, String c, String d) {
+        return a + b + c + d;
+    }
+
+    void capped(
+            @IntVal({0, 1, 2, 3, 4, 5, 6, 7, 8, 9}) byte a,
+            @IntVal({0, 1, 2, 3, 4, 5, 6, 7, 8, 9}) byte b,
+            @IntVal({0, 1, 2, 3, 4, 5, 6, 7, 8, 9}) byte c,
+            @IntVal({0, 1, 2, 3, 4, 5, 6, 7, 8, 9}) byte d) {
+        @IntRange(from = -128, to = 127) byte x = sum(a, b, c, d);
+        // :: error: (assignment.type.incompatible)
+        @IntRange(from = 0, to = 36) byte y = sum(a, b, c, d);
+    }
+
+    void cappedString(
+            @StringVal({"a", "b", "c", "d", "e", "f", "g", "h", "i", "j"}) String a,
+            @StringVal({"a", "b", "c", "d", "e", "f", "g", "h", "i", "j"}) String b,
+            @StringVal({"a", "b", "c", "d", "e", "f", "g", "h", "i", "j"}) String c,
+            @StringVal({"a", "b", "c", "d", "e", "f", "g", "h", "i", "j"}) String d) {
+        @UnknownVal String x = concat(a, b, c, d);
+    }
+}